@@ -0,0 +1,83 @@
+package org.tribenet.tribenet.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tribenet.tribenet.model.AuditAction;
+import org.tribenet.tribenet.service.AuditLog;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link AuditLog#record} on the caller's thread, with the writer
+ * inserting into an in-memory H2 table. {@code DROP} keeps the producers from
+ * waiting on the writer, so the score is the enqueue itself.
+ * {@code recordInTransaction} records inside a transaction of a manager that
+ * does no work, as the audited service methods do, to show the cost of
+ * deferring the record to commit apart from any database work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditLogBenchmark {
+
+    private AuditLog auditLog;
+    private TransactionTemplate transaction;
+
+    @Setup
+    public void setup() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:audit;DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(dataSource).execute("CREATE TABLE audit_log (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "action VARCHAR(32) NOT NULL, actor_id BIGINT, user_id BIGINT, club_id BIGINT, "
+                + "occurred_at TIMESTAMP NOT NULL)");
+        auditLog = new AuditLog(dataSource, new DataSourceTransactionManager(dataSource), new SimpleMeterRegistry(),
+                8192, 500, 100, AuditLog.Backpressure.DROP, 1000, 3, 1000);
+        transaction = new TransactionTemplate(new NoOpTransactionManager());
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        auditLog.shutdown();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void record() {
+        auditLog.record(AuditAction.MEMBER_PROMOTED, 1L, 42L, 7L);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordInTransaction() {
+        transaction.executeWithoutResult(status -> auditLog.record(AuditAction.MEMBER_PROMOTED, 1L, 42L, 7L));
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return Boolean.TRUE;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.tribenet.tribenet.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.tribenet.tribenet.dto.ClubDetailDTO;
+import org.tribenet.tribenet.dto.ClubResponseDTO;
+import org.tribenet.tribenet.model.Club;
+import org.tribenet.tribenet.model.UserClub;
+import org.tribenet.tribenet.repository.ClubRepo;
+import org.tribenet.tribenet.repository.UserClubRepo;
+import org.tribenet.tribenet.repository.UserRepo;
+import org.tribenet.tribenet.service.ClubService;
+import org.tribenet.tribenet.service.OutboxPublisher;
+import org.tribenet.tribenet.service.UserService;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"10", "1000"})
+    private int clubMembers;
+
+    private ClubService clubService;
+    private UserService userService;
+    private MethodHandle convertToClubDetailDTO;
+    private MethodHandle convertToClubResponseDTO;
+    private Club club;
+    private UserClub membership;
+
+    @Setup
+    public void setup() {
+        UserClubRepo userClubRepo = Fixtures.stub(UserClubRepo.class, Map.of("countByClubId", args -> clubMembers));
+        clubService = new ClubService(Fixtures.stub(ClubRepo.class, Map.of()), userClubRepo, null, event -> { },
+                new OutboxPublisher(null), null, null, 2000);
+        userService = new UserService(Fixtures.stub(UserRepo.class, Map.of()), userClubRepo, null);
+
+        convertToClubDetailDTO = Fixtures.privateMethod(ClubService.class, "convertToClubDetailDTO",
+                ClubDetailDTO.class, Club.class);
+        convertToClubResponseDTO = Fixtures.privateMethod(UserService.class, "convertToClubResponseDTO",
+                ClubResponseDTO.class, UserClub.class, int.class);
+
+        club = Fixtures.club(1, clubMembers);
+        membership = club.getMembers().get(0);
+    }
+
+    @Benchmark
+    public ClubDetailDTO clubDetail() throws Throwable {
+        return (ClubDetailDTO) convertToClubDetailDTO.invokeExact(clubService, club);
+    }
+
+    @Benchmark
+    public ClubResponseDTO clubResponse() throws Throwable {
+        return (ClubResponseDTO) convertToClubResponseDTO.invokeExact(userService, membership, clubMembers);
+    }
+}
@@ -0,0 +1,111 @@
+package org.tribenet.tribenet.benchmarks;
+
+import org.tribenet.tribenet.dto.ClubDetailDTO;
+import org.tribenet.tribenet.dto.MemberResponseDTO;
+import org.tribenet.tribenet.model.*;
+import org.tribenet.tribenet.utility.JwtUtil;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+final class Fixtures {
+
+    static final String JWT_SECRET = "benchmark-secret-key-that-is-at-least-32-bytes";
+
+    private Fixtures() {
+    }
+
+    static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        jwtUtil.validateSecretKey();
+        return jwtUtil;
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("Member " + id);
+        user.setUsername("member" + id);
+        user.setEmail("member" + id + "@tribenet.org");
+        user.setPassword("{noop}password");
+        user.setRole(Role.USER);
+        return user;
+    }
+
+    static Club club(long id, int members) {
+        Club club = new Club();
+        club.setId(id);
+        club.setName("Club " + id);
+        club.setDescription("A club for benchmarking the DTO mapping path");
+        club.setCategory("Technology");
+        club.setFree(false);
+        club.setPrice(new BigDecimal("499.00"));
+        club.setCreator(user(1));
+        List<UserClub> memberships = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            memberships.add(membership(user(i + 1), club));
+        }
+        club.setMembers(memberships);
+        return club;
+    }
+
+    static UserClub membership(User user, Club club) {
+        UserClub membership = new UserClub();
+        membership.setId(user.getId());
+        membership.setUser(user);
+        membership.setClub(club);
+        membership.setClubRole(ClubRole.MEMBER);
+        membership.setJoinedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        return membership;
+    }
+
+    static List<ClubDetailDTO> clubDetails(int size) {
+        List<ClubDetailDTO> clubs = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            clubs.add(new ClubDetailDTO(i, "Club " + i, "A club for benchmarking serialization",
+                    "Technology", i % 2 == 0, i % 2 == 0 ? null : new BigDecimal("499.00"), 1L, (int) (i * 7)));
+        }
+        return clubs;
+    }
+
+    static List<MemberResponseDTO> members(int size) {
+        List<MemberResponseDTO> members = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            members.add(new MemberResponseDTO(i, "Member " + i, "member" + i, "member" + i + "@tribenet.org",
+                    i == 1 ? "ADMIN" : "MEMBER", LocalDateTime.of(2025, 1, 1, 12, 0)));
+        }
+        return members;
+    }
+
+    /**
+     * Interface stub that answers the named methods and returns null otherwise.
+     * Cheaper per call than a Mockito mock, so the mapping cost stays visible.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            return answer != null ? answer.apply(args) : null;
+        });
+    }
+
+    static MethodHandle privateMethod(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                    .findVirtual(owner, name, MethodType.methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access " + owner.getSimpleName() + "." + name, e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.tribenet.tribenet.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.tribenet.tribenet.config.JacksonConfig;
+import org.tribenet.tribenet.dto.ClubDetailDTO;
+import org.tribenet.tribenet.dto.MemberResponseDTO;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    private JsonMapper jsonMapper;
+    private List<ClubDetailDTO> clubs;
+    private List<MemberResponseDTO> members;
+
+    @Setup
+    public void setup() {
+        jsonMapper = JsonMapper.builder().filterProvider(JacksonConfig.ALL_FIELDS).build();
+        clubs = Fixtures.clubDetails(size);
+        members = Fixtures.members(size);
+    }
+
+    @Benchmark
+    public byte[] clubDetails() {
+        return jsonMapper.writeValueAsBytes(clubs);
+    }
+
+    @Benchmark
+    public byte[] members() {
+        return jsonMapper.writeValueAsBytes(members);
+    }
+}
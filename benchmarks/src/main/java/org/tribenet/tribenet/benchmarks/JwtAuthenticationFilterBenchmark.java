@@ -0,0 +1,60 @@
+package org.tribenet.tribenet.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.tribenet.tribenet.config.JwtAuthenticationFilter;
+import org.tribenet.tribenet.model.UserPrincipal;
+import org.tribenet.tribenet.service.UserService;
+import org.tribenet.tribenet.utility.JwtUtil;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setup() {
+        JwtUtil jwtUtil = Fixtures.jwtUtil();
+        UserService userService = mock(UserService.class);
+        when(userService.loadUserByUsername(anyString())).thenReturn(new UserPrincipal(Fixtures.user(1)));
+
+        filter = new JwtAuthenticationFilter(jwtUtil, userService, new SimpleMeterRegistry());
+        authorizationHeader = "Bearer " + jwtUtil.generateToken("member1", "USER");
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/clubs");
+        request.addHeader("Authorization", authorizationHeader);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public Object anonymousRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/clubs");
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return request;
+    }
+}
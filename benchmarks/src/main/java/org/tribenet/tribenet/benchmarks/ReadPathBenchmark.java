@@ -0,0 +1,116 @@
+package org.tribenet.tribenet.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.tribenet.tribenet.TribeNetApplication;
+import org.tribenet.tribenet.repository.JdbcReadRepo;
+import org.tribenet.tribenet.service.ClubService;
+import org.tribenet.tribenet.service.PaymentService;
+import org.tribenet.tribenet.service.UserService;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The three reads {@code tribenet.jdbc-reads.queries} can switch (club members,
+ * the user list and payment history) against an in-memory H2 database, through
+ * the JPA and the JDBC read path. {@link BenchmarkMain} attaches the GC profiler
+ * unless other profilers are given; {@code gc.alloc.rate.norm} divided by
+ * {@code rows} is the allocation per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    private static final long CLUB_ID = 1;
+    private static final long USER_ID = 1;
+
+    @Param({JdbcReadRepo.MEMBERS, JdbcReadRepo.USERS, JdbcReadRepo.PAYMENTS})
+    private String read;
+
+    @Param({"jpa", "jdbc"})
+    private String readPath;
+
+    @Param({"100", "5000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ClubService clubService;
+    private UserService userService;
+    private PaymentService paymentService;
+    private Authentication authentication;
+
+    @Setup
+    public void setup() {
+        String url = "jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1";
+        context = SpringApplication.run(TribeNetApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--tribenet.datasource.replica.url=" + url,
+                "--tribenet.datasource.replica.lag-query=SELECT 0 AS Seconds_Behind_Source",
+                "--tribenet.jdbc-reads.queries=" + ("jdbc".equals(readPath) ? read : ""),
+                "--jwt.secret=" + Fixtures.JWT_SECRET,
+                "--jwt.expiration=3600000",
+                "--razorpay.key_id=rzp_test_key",
+                "--razorpay.key_secret=rzp_test_secret",
+                "--logging.level.root=WARN");
+        seed(new JdbcTemplate(context.getBean("primaryDataSource", DataSource.class)));
+        clubService = context.getBean(ClubService.class);
+        userService = context.getBean(UserService.class);
+        paymentService = context.getBean(PaymentService.class);
+        UserDetails principal = userService.loadUserByUsername("member" + USER_ID);
+        authentication = UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<?> read() {
+        return switch (read) {
+            case JdbcReadRepo.MEMBERS -> clubService.getClubMembers(CLUB_ID);
+            case JdbcReadRepo.USERS -> userService.getAllUsers(authentication);
+            default -> paymentService.getPaymentsByUserId(USER_ID);
+        };
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 12, 0));
+        List<Object[]> users = new ArrayList<>(rows);
+        List<Object[]> memberships = new ArrayList<>(rows);
+        List<Object[]> payments = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            users.add(new Object[]{id, "Member " + id, "member" + id, "member" + id + "@tribenet.org"});
+            memberships.add(new Object[]{id, id == 1 ? "ADMIN" : "MEMBER", createdAt});
+            payments.add(new Object[]{"order_" + id, "pay_" + id, createdAt});
+        }
+        jdbc.batchUpdate("INSERT INTO users (id, name, username, email, password, role) "
+                + "VALUES (?, ?, ?, ?, '{noop}password', 'USER')", users);
+        jdbc.update("INSERT INTO clubs (id, name, description, category, free, creator_id) "
+                + "VALUES (?, 'Club 1', 'A club for benchmarking member reads', 'Technology', TRUE, 1)", CLUB_ID);
+        jdbc.batchUpdate("INSERT INTO user_club (user_id, club_id, club_role, joined_at) "
+                + "VALUES (?, " + CLUB_ID + ", ?, ?)", memberships);
+        jdbc.batchUpdate("INSERT INTO payments (order_id, payment_id, amount, currency, status, user_id, created_at) "
+                + "VALUES (?, ?, 499.00, 'INR', 'SUCCESS', " + USER_ID + ", ?)", payments);
+    }
+}
@@ -0,0 +1,73 @@
+package org.tribenet.tribenet.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.tribenet.tribenet.dto.RecommendedClubDTO;
+import org.tribenet.tribenet.model.Club;
+import org.tribenet.tribenet.repository.ClubRepo;
+import org.tribenet.tribenet.service.ClubRecommendationService;
+import org.tribenet.tribenet.service.MembershipIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code recommendClubs} against an in-memory membership index of
+ * {@code memberships} rows: ten clubs per user and one club per hundred
+ * memberships, with club sizes skewed so a few clubs have tens of thousands
+ * of members. Each call picks the next of a fixed set of random users. The
+ * club lookup is stubbed, so the score is the index work under the read lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RecommendationBenchmark {
+
+    private static final int SAMPLED_USERS = 1024;
+
+    @Param({"1000000", "10000000"})
+    private int memberships;
+
+    private ClubRecommendationService service;
+    private long[] users;
+    private int next;
+
+    @Setup
+    public void setup() {
+        int userCount = memberships / 10;
+        int clubCount = memberships / 100;
+        SplittableRandom random = new SplittableRandom(42);
+
+        MembershipIndex index = new MembershipIndex(null, null);
+        for (long user = 1; user <= userCount; user++) {
+            for (int i = 0; i < 10; i++) {
+                double r = random.nextDouble();
+                index.add(user, 1 + (long) (clubCount * r * r * r));
+            }
+        }
+        ClubRepo clubRepo = Fixtures.stub(ClubRepo.class, Map.of("findAllById", args -> {
+            List<Club> clubs = new ArrayList<>();
+            for (Object id : (Iterable<?>) args[0]) {
+                clubs.add(Fixtures.club((Long) id, 0));
+            }
+            return clubs;
+        }));
+        service = new ClubRecommendationService(index, clubRepo);
+
+        users = new long[SAMPLED_USERS];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = 1 + random.nextInt(userCount);
+        }
+    }
+
+    @Benchmark
+    public List<RecommendedClubDTO> recommendClubs() {
+        long user = users[next++ & (SAMPLED_USERS - 1)];
+        return service.recommendClubs(user, 10);
+    }
+}
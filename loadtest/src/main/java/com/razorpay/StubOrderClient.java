@@ -0,0 +1,30 @@
+package com.razorpay;
+
+import org.json.JSONObject;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers order creation locally instead of calling the Razorpay API.
+ * Lives in {@code com.razorpay} because {@link OrderClient}'s constructor is package-private.
+ */
+public class StubOrderClient extends OrderClient {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    public StubOrderClient() {
+        super("stub");
+    }
+
+    @Override
+    public Order create(JSONObject request) {
+        JSONObject order = new JSONObject();
+        order.put("id", "order_stub_" + sequence.incrementAndGet());
+        order.put("entity", "order");
+        order.put("amount", request.opt("amount"));
+        order.put("currency", request.opt("currency"));
+        order.put("receipt", request.opt("receipt"));
+        order.put("status", "created");
+        return new Order(order);
+    }
+}
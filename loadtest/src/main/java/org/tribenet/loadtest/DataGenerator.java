@@ -0,0 +1,177 @@
+package org.tribenet.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds users, clubs, a power-law membership distribution and payments with
+ * batched JDBC inserts. Club {@code r} (1-based rank) gets roughly
+ * {@code maxClubSize / r^alpha} members, so a few clubs are huge and the long
+ * tail is small, as in production.
+ */
+public class DataGenerator {
+
+    public static final String PASSWORD = "password";
+    private static final int BATCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+    private final LoadTestOptions options;
+    private final SplittableRandom random;
+
+    public DataGenerator(DataSource dataSource, LoadTestOptions options) {
+        this.dataSource = dataSource;
+        this.options = options;
+        this.random = new SplittableRandom(options.randomSeed());
+    }
+
+    public SeededData seed() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+
+            long firstUserId = insertUsers(connection);
+            long firstClubId = insertClubs(connection, firstUserId);
+            long memberships = insertMemberships(connection, firstUserId, firstClubId);
+            insertPayments(connection, firstUserId);
+
+            System.out.printf("Seeded %d users, %d clubs, %d memberships, %d payments in %d ms%n",
+                    options.users(), options.clubs(), memberships, options.payments(),
+                    (System.nanoTime() - start) / 1_000_000);
+            return new SeededData(firstUserId, options.users(), firstClubId, options.clubs());
+        }
+    }
+
+    public static SeededData existing(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            long[] users = range(statement, "SELECT MIN(id), COUNT(*) FROM users WHERE username LIKE 'loadtest_%'");
+            long[] clubs = range(statement, "SELECT MIN(id), COUNT(*) FROM clubs WHERE name LIKE 'Load Test Club %'");
+            return new SeededData(users[0], (int) users[1], clubs[0], (int) clubs[1]);
+        }
+    }
+
+    private long insertUsers(Connection connection) throws SQLException {
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        String sql = "INSERT INTO users (name, username, email, password, role) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 0; i < options.users(); i++) {
+                insert.setString(1, "Load Test User " + i);
+                insert.setString(2, username(i));
+                insert.setString(3, username(i) + "@loadtest.tribenet.org");
+                insert.setString(4, passwordHash);
+                insert.setString(5, i == 0 ? "ADMIN" : "USER");
+                insert.addBatch();
+                flushIfFull(connection, insert, i);
+            }
+            flush(connection, insert);
+        }
+        return firstId(connection, "SELECT MIN(id) FROM users WHERE username LIKE 'loadtest_%'");
+    }
+
+    private long insertClubs(Connection connection, long firstUserId) throws SQLException {
+        String sql = "INSERT INTO clubs (name, description, category, free, price, creator_id) VALUES (?, ?, ?, ?, ?, ?)";
+        String[] categories = {"Technology", "Sports", "Music", "Arts", "Science", "Gaming", "Literature", "Travel"};
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 0; i < options.clubs(); i++) {
+                boolean free = random.nextInt(4) != 0;
+                insert.setString(1, "Load Test Club " + i);
+                insert.setString(2, "Synthetic club number " + i);
+                insert.setString(3, categories[random.nextInt(categories.length)]);
+                insert.setBoolean(4, free);
+                insert.setBigDecimal(5, free ? null : BigDecimal.valueOf(99 + random.nextInt(900)));
+                insert.setLong(6, firstUserId + random.nextInt(options.users()));
+                insert.addBatch();
+                flushIfFull(connection, insert, i);
+            }
+            flush(connection, insert);
+        }
+        return firstId(connection, "SELECT MIN(id) FROM clubs WHERE name LIKE 'Load Test Club %'");
+    }
+
+    private long insertMemberships(Connection connection, long firstUserId, long firstClubId) throws SQLException {
+        String sql = "INSERT INTO user_club (user_id, club_id, club_role, joined_at) VALUES (?, ?, ?, ?)";
+        LocalDateTime now = LocalDateTime.now();
+        long inserted = 0;
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int rank = 1; rank <= options.clubs(); rank++) {
+                int size = clubSize(rank);
+                // A contiguous window of users from a random offset keeps members unique without a set.
+                int offset = random.nextInt(options.users());
+                for (int i = 0; i < size; i++) {
+                    insert.setLong(1, firstUserId + (offset + i) % options.users());
+                    insert.setLong(2, firstClubId + rank - 1);
+                    insert.setString(3, i == 0 ? "ADMIN" : "MEMBER");
+                    insert.setTimestamp(4, Timestamp.valueOf(now.minusMinutes(random.nextInt(60 * 24 * 30))));
+                    insert.addBatch();
+                    flushIfFull(connection, insert, inserted++);
+                }
+            }
+            flush(connection, insert);
+        }
+        return inserted;
+    }
+
+    private void insertPayments(Connection connection, long firstUserId) throws SQLException {
+        String sql = "INSERT INTO payments (order_id, payment_id, amount, currency, status, user_id, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String[] statuses = {"SUCCESS", "SUCCESS", "SUCCESS", "PENDING", "FAILED"};
+        LocalDateTime now = LocalDateTime.now();
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 0; i < options.payments(); i++) {
+                String status = statuses[random.nextInt(statuses.length)];
+                insert.setString(1, "order_seed_" + i);
+                insert.setString(2, "SUCCESS".equals(status) ? "pay_seed_" + i : null);
+                insert.setBigDecimal(3, BigDecimal.valueOf(99 + random.nextInt(900)));
+                insert.setString(4, "INR");
+                insert.setString(5, status);
+                insert.setLong(6, firstUserId + random.nextInt(options.users()));
+                insert.setTimestamp(7, Timestamp.valueOf(now.minusMinutes(random.nextInt(60 * 24 * 90))));
+                insert.addBatch();
+                flushIfFull(connection, insert, i);
+            }
+            flush(connection, insert);
+        }
+    }
+
+    private int clubSize(int rank) {
+        int size = (int) Math.ceil(options.maxClubSize() / Math.pow(rank, options.alpha()));
+        return Math.max(1, Math.min(size, options.users()));
+    }
+
+    static String username(int index) {
+        return "loadtest_" + index;
+    }
+
+    private static void flushIfFull(Connection connection, PreparedStatement insert, long index) throws SQLException {
+        if ((index + 1) % BATCH_SIZE == 0) {
+            flush(connection, insert);
+        }
+    }
+
+    private static void flush(Connection connection, PreparedStatement insert) throws SQLException {
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    private static long firstId(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static long[] range(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return new long[]{rs.getLong(1), rs.getLong(2)};
+        }
+    }
+
+    public record SeededData(long firstUserId, int users, long firstClubId, int clubs) {
+    }
+}
@@ -0,0 +1,78 @@
+package org.tribenet.loadtest;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.tribenet.tribenet.TribeNetApplication;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs TribeNet in-process against an embedded H2 database in MySQL mode with
+ * a stubbed Razorpay client. The schema is created by a short-lived context
+ * first, so the serving context starts against fully seeded data.
+ */
+public class EmbeddedTarget implements AutoCloseable {
+
+    private final LoadTestOptions options;
+    private ConfigurableApplicationContext context;
+
+    public EmbeddedTarget(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public void createSchema(SchemaCallback callback) throws Exception {
+        try (ConfigurableApplicationContext schemaContext = builder()
+                .web(WebApplicationType.NONE)
+                .run(arguments("create"))) {
+            callback.withDataSource(schemaContext.getBean(DataSource.class));
+        }
+    }
+
+    public String start() {
+        context = builder().run(arguments("none"));
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port;
+    }
+
+    private SpringApplicationBuilder builder() {
+        return new SpringApplicationBuilder(TribeNetApplication.class, StubRazorpayConfig.class)
+                .logStartupInfo(false);
+    }
+
+    // Passed as command-line arguments so they override the application.properties bundled in the jar.
+    private String[] arguments(String ddlAuto) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", options.jdbcUrl());
+        properties.put("spring.datasource.username", options.jdbcUsername());
+        properties.put("spring.datasource.password", options.jdbcPassword());
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.hikari.maximum-pool-size", "32");
+        properties.put("spring.jpa.hibernate.ddl-auto", ddlAuto);
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("jwt.secret", "loadtest-jwt-secret-key-at-least-32-bytes-long");
+        properties.put("jwt.expiration", "86400000");
+        properties.put("razorpay.key_id", "rzp_loadtest");
+        properties.put("razorpay.key_secret", options.razorpaySecret());
+        properties.put("server.port", "0");
+        properties.put("logging.level.root", "WARN");
+        return properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @FunctionalInterface
+    public interface SchemaCallback {
+        void withDataSource(DataSource dataSource) throws Exception;
+    }
+}
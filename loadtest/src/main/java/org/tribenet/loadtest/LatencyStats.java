@@ -0,0 +1,84 @@
+package org.tribenet.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = 60_000_000L;
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, int status) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, name -> new EndpointStats());
+        stats.recorder.recordValue(Math.min(latencyNanos / 1_000, HIGHEST_TRACKABLE_MICROS));
+        if (status >= 500 || status < 0) {
+            stats.errors.increment();
+        } else if (status >= 400) {
+            stats.clientErrors.increment();
+        }
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    public Map<String, Summary> summarize(double elapsedSeconds) {
+        Map<String, Summary> summaries = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> {
+            Histogram histogram = stats.recorder.getIntervalHistogram();
+            summaries.put(endpoint, new Summary(
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / elapsedSeconds,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0,
+                    stats.clientErrors.sum(),
+                    stats.errors.sum()));
+        });
+        return summaries;
+    }
+
+    public static void print(Map<String, Summary> summaries, PrintStream out) {
+        out.printf("%-36s %9s %9s %9s %9s %9s %9s %7s %7s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "4xx", "errors");
+        summaries.forEach((endpoint, s) -> out.printf("%-36s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d %7d%n",
+                endpoint, s.count(), s.throughput(), s.p50Millis(), s.p99Millis(), s.p999Millis(),
+                s.maxMillis(), s.clientErrors(), s.errors()));
+    }
+
+    public static void writeJson(Map<String, Summary> summaries, Path file) throws IOException {
+        StringBuilder json = new StringBuilder("{\n");
+        int i = 0;
+        for (Map.Entry<String, Summary> entry : summaries.entrySet()) {
+            Summary s = entry.getValue();
+            json.append(String.format(java.util.Locale.ROOT,
+                    "  \"%s\": {\"count\": %d, \"throughput\": %.2f, \"p50Ms\": %.3f, \"p99Ms\": %.3f, "
+                            + "\"p999Ms\": %.3f, \"maxMs\": %.3f, \"clientErrors\": %d, \"errors\": %d}%s%n",
+                    entry.getKey(), s.count(), s.throughput(), s.p50Millis(), s.p99Millis(), s.p999Millis(),
+                    s.maxMillis(), s.clientErrors(), s.errors(), ++i < summaries.size() ? "," : ""));
+        }
+        json.append("}\n");
+        Files.writeString(file, json);
+    }
+
+    private static final class EndpointStats {
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+    }
+
+    public record Summary(long count, double throughput, double p50Millis, double p99Millis,
+                          double p999Millis, double maxMillis, long clientErrors, long errors) {
+    }
+}
@@ -0,0 +1,88 @@
+package org.tribenet.loadtest;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Entry point. Embedded mode (the default) seeds an in-memory database and
+ * starts the application in-process; pass {@code --base-url} and
+ * {@code --jdbc-url} to drive an already running deployment instead.
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        DataGenerator.SeededData[] seeded = new DataGenerator.SeededData[1];
+
+        try (EmbeddedTarget embedded = options.embedded() ? new EmbeddedTarget(options) : null) {
+            String baseUrl;
+            if (embedded != null) {
+                embedded.createSchema(dataSource -> seeded[0] = new DataGenerator(dataSource, options).seed());
+                baseUrl = embedded.start();
+            } else {
+                try (HikariDataSource dataSource = new HikariDataSource()) {
+                    dataSource.setJdbcUrl(options.jdbcUrl());
+                    dataSource.setUsername(options.jdbcUsername());
+                    dataSource.setPassword(options.jdbcPassword());
+                    seeded[0] = options.seed()
+                            ? new DataGenerator(dataSource, options).seed()
+                            : DataGenerator.existing(dataSource);
+                }
+                baseUrl = options.baseUrl();
+            }
+
+            run(options, baseUrl, seeded[0]);
+        }
+    }
+
+    private static void run(LoadTestOptions options, String baseUrl, DataGenerator.SeededData data) throws Exception {
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .executor(workers)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            LatencyStats stats = new LatencyStats();
+            ScenarioContext ctx = new ScenarioContext(new LoadClient(httpClient, baseUrl, stats), options, data);
+            ctx.openSessions();
+            stats.reset();
+            Scenario fixed = "mixed".equals(options.scenario())
+                    ? null
+                    : Scenario.valueOf(options.scenario().toUpperCase(Locale.ROOT).replace('-', '_'));
+
+            System.out.printf("Running %s for %s with %d workers against %s%n",
+                    options.scenario(), options.duration(), options.concurrency(), baseUrl);
+            long start = System.nanoTime();
+            long deadline = start + options.duration().toNanos();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < options.concurrency(); i++) {
+                SplittableRandom random = new SplittableRandom(options.randomSeed() + i);
+                futures.add(workers.submit(() -> {
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        (fixed != null ? fixed : Scenario.pick(random)).run(ctx, random);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            Map<String, LatencyStats.Summary> summaries = stats.summarize(elapsedSeconds);
+            LatencyStats.print(summaries, System.out);
+            LatencyStats.writeJson(summaries, Path.of(options.reportFile()));
+            System.out.println("Report written to " + options.reportFile());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.tribenet.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+public record LoadTestOptions(
+        String baseUrl,
+        String jdbcUrl,
+        String jdbcUsername,
+        String jdbcPassword,
+        boolean seed,
+        int users,
+        int clubs,
+        int payments,
+        int maxClubSize,
+        double alpha,
+        int tokenPool,
+        int concurrency,
+        Duration duration,
+        String scenario,
+        String razorpaySecret,
+        String reportFile,
+        long randomSeed) {
+
+    static final String EMBEDDED = "embedded";
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        int users = Integer.parseInt(values.getOrDefault("users", "10000"));
+        return new LoadTestOptions(
+                values.getOrDefault("base-url", EMBEDDED),
+                values.getOrDefault("jdbc-url", "jdbc:h2:mem:tribenet_loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"),
+                values.getOrDefault("jdbc-username", "sa"),
+                values.getOrDefault("jdbc-password", ""),
+                Boolean.parseBoolean(values.getOrDefault("seed", "true")),
+                users,
+                Integer.parseInt(values.getOrDefault("clubs", "500")),
+                Integer.parseInt(values.getOrDefault("payments", "20000")),
+                Integer.parseInt(values.getOrDefault("max-club-size", String.valueOf(Math.max(1, users / 2)))),
+                Double.parseDouble(values.getOrDefault("alpha", "1.0")),
+                Integer.parseInt(values.getOrDefault("token-pool", "200")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                Duration.parse(values.getOrDefault("duration", "PT60S")),
+                values.getOrDefault("scenario", "mixed"),
+                values.getOrDefault("razorpay-secret", "loadtest_razorpay_secret"),
+                values.getOrDefault("report", "loadtest-report.json"),
+                Long.parseLong(values.getOrDefault("random-seed", "42"))
+        );
+    }
+
+    public boolean embedded() {
+        return EMBEDDED.equals(baseUrl);
+    }
+}
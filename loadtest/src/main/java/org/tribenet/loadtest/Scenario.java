@@ -0,0 +1,105 @@
+package org.tribenet.loadtest;
+
+import org.json.JSONObject;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import java.util.SplittableRandom;
+
+public enum Scenario {
+
+    BROWSE_CLUBS(30) {
+        @Override
+        void run(ScenarioContext ctx, SplittableRandom random) {
+            ctx.client().get("GET /clubs", "/api/v1/clubs", ctx.randomToken(random));
+            ctx.client().get("GET /clubs/{id}", "/api/v1/clubs/" + ctx.skewedClubId(random), ctx.randomToken(random));
+        }
+    },
+    VIEW_MEMBERS(25) {
+        @Override
+        void run(ScenarioContext ctx, SplittableRandom random) {
+            ctx.client().get("GET /clubs/{id}/members",
+                    "/api/v1/clubs/" + ctx.skewedClubId(random) + "/members", ctx.randomToken(random));
+        }
+    },
+    MY_CLUBS(15) {
+        @Override
+        void run(ScenarioContext ctx, SplittableRandom random) {
+            ScenarioContext.Session session = ctx.randomSession(random);
+            ctx.client().get("GET /users/{id}/clubs", "/api/v1/users/" + session.userId() + "/clubs", session.token());
+        }
+    },
+    JOIN_LEAVE_STORM(15) {
+        @Override
+        void run(ScenarioContext ctx, SplittableRandom random) {
+            ScenarioContext.Session session = ctx.randomSession(random);
+            long clubId = ctx.skewedClubId(random);
+            ctx.client().post("POST /clubs/{id}/join", "/api/v1/clubs/" + clubId + "/join", session.token(), "");
+            ctx.client().delete("DELETE /clubs/{id}/leave", "/api/v1/clubs/" + clubId + "/leave", session.token());
+        }
+    },
+    LOGIN_STORM(5) {
+        @Override
+        void run(ScenarioContext ctx, SplittableRandom random) {
+            ctx.login(DataGenerator.username(random.nextInt(ctx.data().users())));
+        }
+    },
+    CHECKOUT(10) {
+        @Override
+        void run(ScenarioContext ctx, SplittableRandom random) {
+            ScenarioContext.Session session = ctx.randomSession(random);
+            HttpResponse<String> order = ctx.client().post("POST /payments/create-order",
+                    "/api/v1/payments/create-order?userId=" + session.userId(), session.token(),
+                    new JSONObject().put("amount", 99 + random.nextInt(900)).put("currency", "INR").toString());
+            if (order == null || order.statusCode() != 200) {
+                return;
+            }
+
+            String orderId = new JSONObject(order.body()).getString("orderId");
+            String paymentId = "pay_loadtest_" + random.nextLong(Long.MAX_VALUE);
+            JSONObject verification = new JSONObject()
+                    .put("razorpayOrderId", orderId)
+                    .put("razorpayPaymentId", paymentId)
+                    .put("razorpaySignature", sign(orderId + "|" + paymentId, ctx.options().razorpaySecret()));
+            ctx.client().post("POST /payments/verify", "/api/v1/payments/verify", session.token(), verification.toString());
+            ctx.client().get("GET /payments/user/{id}", "/api/v1/payments/user/" + session.userId(), session.token());
+        }
+    };
+
+    private final int weight;
+
+    Scenario(int weight) {
+        this.weight = weight;
+    }
+
+    abstract void run(ScenarioContext ctx, SplittableRandom random);
+
+    static Scenario pick(SplittableRandom random) {
+        int total = 0;
+        for (Scenario scenario : values()) {
+            total += scenario.weight;
+        }
+        int roll = random.nextInt(total);
+        for (Scenario scenario : values()) {
+            roll -= scenario.weight;
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return BROWSE_CLUBS;
+    }
+
+    private static String sign(String payload, String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
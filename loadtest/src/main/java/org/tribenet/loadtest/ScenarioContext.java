@@ -0,0 +1,78 @@
+package org.tribenet.loadtest;
+
+import org.json.JSONObject;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class ScenarioContext {
+
+    private final LoadClient client;
+    private final LoadTestOptions options;
+    private final DataGenerator.SeededData data;
+    private final List<Session> sessions = new ArrayList<>();
+
+    public ScenarioContext(LoadClient client, LoadTestOptions options, DataGenerator.SeededData data) {
+        this.client = client;
+        this.options = options;
+        this.data = data;
+    }
+
+    public void openSessions() {
+        int count = Math.min(options.tokenPool(), data.users());
+        for (int i = 0; i < count; i++) {
+            Session session = login(DataGenerator.username(i));
+            if (session != null) {
+                sessions.add(session);
+            }
+        }
+        if (sessions.isEmpty()) {
+            throw new IllegalStateException("Could not log in any seeded user");
+        }
+    }
+
+    public Session login(String username) {
+        HttpResponse<String> response = client.post("POST /auth/login", "/api/v1/auth/login", null,
+                new JSONObject().put("username", username).put("password", DataGenerator.PASSWORD).toString());
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        JSONObject body = new JSONObject(response.body());
+        return new Session(body.getJSONObject("user").getLong("id"), body.getString("token"));
+    }
+
+    public Session randomSession(SplittableRandom random) {
+        return sessions.get(random.nextInt(sessions.size()));
+    }
+
+    public String randomToken(SplittableRandom random) {
+        return randomSession(random).token();
+    }
+
+    /**
+     * Picks clubs with the same power-law skew the generator used for sizes,
+     * so the biggest clubs also get the most traffic.
+     */
+    public long skewedClubId(SplittableRandom random) {
+        double u = random.nextDouble();
+        int rank = (int) Math.min(data.clubs() - 1, Math.floor(Math.pow(data.clubs(), u)) - 1);
+        return data.firstClubId() + Math.max(0, rank);
+    }
+
+    public LoadClient client() {
+        return client;
+    }
+
+    public LoadTestOptions options() {
+        return options;
+    }
+
+    public DataGenerator.SeededData data() {
+        return data;
+    }
+
+    public record Session(long userId, String token) {
+    }
+}
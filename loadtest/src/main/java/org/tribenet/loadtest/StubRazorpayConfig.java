@@ -0,0 +1,24 @@
+package org.tribenet.loadtest;
+
+import com.razorpay.RazorpayClient;
+import com.razorpay.StubOrderClient;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StubRazorpayConfig {
+
+    @Bean
+    public static BeanPostProcessor stubRazorpayOrders() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RazorpayClient client) {
+                    client.orders = new StubOrderClient();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,223 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Build-time step for the bundled UI, run from the pom during process-resources:
+ * <pre>java src/build/AssetPipeline.java &lt;source static dir&gt; &lt;target static dir&gt; [required|warn|skip]</pre>
+ * Minifies script.js and styles.css, writes them to {@code assets/} under
+ * content-hashed names, points index.html at the hashed names and writes
+ * {@code .gz} and {@code .br} variants next to every output. The {@code .br}
+ * variants need the {@code brotli} CLI; the last argument ({@code assets.brotli}
+ * in the pom) decides whether its absence fails the build, warns (the default)
+ * or skips them without a word.
+ * <p>
+ * Minification is deliberately conservative, as there is no real parser: JS
+ * loses indentation, blank lines and whole-line {@code //} comments but keeps
+ * its line breaks, and lines inside template literals are left exactly as
+ * written. Template literals are found by a small scanner that knows strings,
+ * comments and {@code ${...}} nesting but not regex literals, so a backtick or
+ * quote inside a regex literal would confuse it. CSS loses comments and
+ * whitespace around braces and semicolons.
+ */
+public class AssetPipeline {
+
+    private static final Pattern CSS_COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern CSS_SPACE = Pattern.compile("\\s*([{};])\\s*");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final int CODE = 0;
+    private static final int TEMPLATE = 1;
+    private static final int BLOCK_COMMENT = 2;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("usage: AssetPipeline <source static dir> <target static dir> [required|warn|skip]");
+            System.exit(2);
+        }
+        Path source = Path.of(args[0]);
+        Path target = Path.of(args[1]);
+        String ifNoBrotli = args.length == 3 ? args[2] : "warn";
+        Path assets = target.resolve("assets");
+        Files.createDirectories(assets);
+        boolean brotli = !ifNoBrotli.equals("skip") && brotliAvailable();
+        if (!brotli) {
+            switch (ifNoBrotli) {
+                case "required" -> {
+                    System.err.println("[ERROR] [assets] brotli CLI not found on the PATH; install it or build with "
+                            + "-Dassets.brotli=warn to ship without .br variants");
+                    System.exit(1);
+                }
+                case "warn" -> System.err.println("[WARNING] [assets] brotli CLI not found on the PATH; .br variants "
+                        + "are not written. Build with -Dassets.brotli=required to fail instead, or skip to silence this");
+                case "skip" -> {
+                }
+                default -> {
+                    System.err.println("[ERROR] [assets] assets.brotli must be required, warn or skip: " + ifNoBrotli);
+                    System.exit(2);
+                }
+            }
+        }
+
+        Map<String, String> renamed = new LinkedHashMap<>();
+        renamed.put("script.js", writeHashed(assets, "script", ".js", minifyJs(read(source.resolve("script.js"))), brotli));
+        renamed.put("styles.css", writeHashed(assets, "styles", ".css", minifyCss(read(source.resolve("styles.css"))), brotli));
+
+        String html = read(source.resolve("index.html"));
+        for (Map.Entry<String, String> entry : renamed.entrySet()) {
+            String original = '"' + entry.getKey() + '"';
+            if (!html.contains(original)) {
+                throw new IllegalStateException("index.html does not reference " + original);
+            }
+            html = html.replace(original, "\"assets/" + entry.getValue() + '"');
+        }
+        Path index = target.resolve("index.html");
+        Files.writeString(index, html);
+        compress(index, brotli);
+
+        System.out.println("[assets] " + renamed + (brotli ? "" : " (no .br variants)"));
+    }
+
+    static String minifyJs(String js) {
+        StringBuilder out = new StringBuilder(js.length());
+        Deque<Integer> templateBraces = new ArrayDeque<>();
+        int mode = CODE;
+        for (String line : js.split("\\R")) {
+            boolean startsInTemplate = mode == TEMPLATE;
+            mode = scanLine(line, mode, templateBraces);
+            if (startsInTemplate) {
+                out.append(line).append('\n');
+                continue;
+            }
+            String trimmed = mode == TEMPLATE ? line.stripLeading() : line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("//")) {
+                continue;
+            }
+            out.append(trimmed).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Scans one line of JS starting in {@code mode} and returns the mode at its end.
+     * {@code templateBraces} holds, per open {@code ${}, the depth of ordinary braces
+     * inside it, so its closing brace can be told apart.
+     */
+    private static int scanLine(String line, int mode, Deque<Integer> templateBraces) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            char next = i + 1 < line.length() ? line.charAt(i + 1) : 0;
+            if (mode == BLOCK_COMMENT) {
+                if (c == '*' && next == '/') {
+                    mode = CODE;
+                    i++;
+                }
+            } else if (mode == TEMPLATE) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '`') {
+                    mode = CODE;
+                } else if (c == '$' && next == '{') {
+                    templateBraces.push(0);
+                    mode = CODE;
+                    i++;
+                }
+            } else if (c == '/' && next == '/') {
+                return mode;
+            } else if (c == '/' && next == '*') {
+                mode = BLOCK_COMMENT;
+                i++;
+            } else if (c == '\'' || c == '"') {
+                int end = i + 1;
+                while (end < line.length() && line.charAt(end) != c) {
+                    end += line.charAt(end) == '\\' ? 2 : 1;
+                }
+                if (end >= line.length()) {
+                    return mode;
+                }
+                i = end;
+            } else if (c == '`') {
+                mode = TEMPLATE;
+            } else if (c == '{' && !templateBraces.isEmpty()) {
+                templateBraces.push(templateBraces.pop() + 1);
+            } else if (c == '}' && !templateBraces.isEmpty()) {
+                int depth = templateBraces.pop();
+                if (depth == 0) {
+                    mode = TEMPLATE;
+                } else {
+                    templateBraces.push(depth - 1);
+                }
+            }
+        }
+        return mode;
+    }
+
+    static String minifyCss(String css) {
+        String stripped = CSS_COMMENT.matcher(css).replaceAll("");
+        String collapsed = WHITESPACE.matcher(stripped).replaceAll(" ");
+        return CSS_SPACE.matcher(collapsed).replaceAll("$1").strip();
+    }
+
+    private static String writeHashed(Path dir, String name, String extension, String content, boolean brotli)
+            throws Exception {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+        String fileName = name + '.' + HexFormat.of().formatHex(digest, 0, 5) + extension;
+        Path file = dir.resolve(fileName);
+        Files.write(file, bytes);
+        compress(file, brotli);
+        return fileName;
+    }
+
+    private static void compress(Path file, boolean brotli) throws IOException, InterruptedException {
+        Path gz = file.resolveSibling(file.getFileName() + ".gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gz)) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            Files.copy(file, out);
+        }
+        if (brotli) {
+            Path br = file.resolveSibling(file.getFileName() + ".br");
+            run("brotli", "--force", "--quality=11", "--output=" + br, file.toString());
+        }
+    }
+
+    private static boolean brotliAvailable() {
+        try {
+            return run("brotli", "--version") == 0;
+        } catch (IOException | InterruptedException e) {
+            return false;
+        }
+    }
+
+    private static int run(String... command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        if (!process.waitFor(60, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IOException("Timed out running " + command[0]);
+        }
+        if (process.exitValue() != 0 && command.length > 2) {
+            throw new IOException(command[0] + " exited with " + process.exitValue());
+        }
+        return process.exitValue();
+    }
+
+    private static String read(Path file) throws IOException {
+        return Files.readString(file, StandardCharsets.UTF_8);
+    }
+}
@@ -2,8 +2,10 @@ package org.tribenet.tribenet;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TribeNetApplication {
 
     public static void main(String[] args) {
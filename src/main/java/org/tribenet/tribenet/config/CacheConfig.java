@@ -0,0 +1,14 @@
+package org.tribenet.tribenet.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CLUB_DETAILS = "clubDetails";
+    public static final String PRINCIPALS = "principals";
+    /** Invalidation-bus channel for the pre-serialized club catalog; not a Spring cache. */
+    public static final String CLUB_CATALOG = "clubCatalog";
+}
@@ -0,0 +1,142 @@
+package org.tribenet.tribenet.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.tribenet.tribenet.model.Role;
+import org.tribenet.tribenet.utility.AimdLimiter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sheds API requests with 503 once an endpoint group has as many in flight as
+ * its {@link AimdLimiter} allows, instead of letting them queue behind slow
+ * ones. Expensive listings, admin and payment endpoints each get their own
+ * limit so they cannot use up the capacity of the cheap lookups in
+ * {@code default}. ADMIN users and payment requests take the priority lane.
+ * <p>
+ * Ordered after the security filter chain so the caller's role is known.
+ */
+@Component
+@Order(0)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String DEFAULT_GROUP = "default";
+    private static final String API_PREFIX = "/api/";
+    private static final String PAYMENTS_GROUP = "payments";
+    private static final String REJECTION_BODY = "{\"error\":\"Server is busy, please retry shortly\"}";
+
+    private final boolean enabled;
+    private final Map<String, List<PathPattern>> groups = new LinkedHashMap<>();
+    private final Map<String, AimdLimiter> limiters = new LinkedHashMap<>();
+    private final Map<String, Counter> rejections = new LinkedHashMap<>();
+
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry,
+                                  @Value("${tribenet.concurrency.enabled:true}") boolean enabled,
+                                  @Value("${tribenet.concurrency.initial-limit:50}") int initialLimit,
+                                  @Value("${tribenet.concurrency.min-limit:4}") int minLimit,
+                                  @Value("${tribenet.concurrency.max-limit:400}") int maxLimit,
+                                  @Value("${tribenet.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${tribenet.concurrency.latency-tolerance:2.0}") double tolerance,
+                                  @Value("${tribenet.concurrency.latency-floor-ms:10}") long floorMillis,
+                                  @Value("${tribenet.concurrency.priority-reserve:0.2}") double priorityReserve) {
+        this.enabled = enabled;
+        group("listings", "/api/v1/clubs/*/members", "/api/v1/clubs/*/shared-members/*",
+                "/api/v1/clubs/*/overview", "/api/v1/clubs/batch", "/api/v1/users", "/api/v1/users/batch",
+                "/api/v1/me/dashboard");
+        group("admin", "/api/v1/admin/**");
+        group(PAYMENTS_GROUP, "/api/v1/payments/**");
+        group(DEFAULT_GROUP);
+
+        for (String group : groups.keySet()) {
+            AimdLimiter limiter = new AimdLimiter(initialLimit, minLimit, maxLimit, backoffRatio, tolerance,
+                    floorMillis * 1_000_000, priorityReserve);
+            limiters.put(group, limiter);
+            Gauge.builder("tribenet.concurrency.limit", limiter, AimdLimiter::getLimit)
+                    .tag("group", group)
+                    .register(meterRegistry);
+            Gauge.builder("tribenet.concurrency.inflight", limiter, AimdLimiter::getInFlight)
+                    .tag("group", group)
+                    .register(meterRegistry);
+            for (String lane : List.of("priority", "standard")) {
+                rejections.put(group + "/" + lane, Counter.builder("tribenet.concurrency.rejected")
+                        .tag("group", group)
+                        .tag("lane", lane)
+                        .register(meterRegistry));
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !path(request).startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String group = groupOf(PathContainer.parsePath(path(request)));
+        boolean priority = PAYMENTS_GROUP.equals(group) || isAdmin();
+        AimdLimiter limiter = limiters.get(group);
+
+        if (!limiter.tryAcquire(priority)) {
+            rejections.get(group + "/" + (priority ? "priority" : "standard")).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(REJECTION_BODY);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(start);
+        }
+    }
+
+    private void group(String name, String... patterns) {
+        groups.put(name, Arrays.stream(patterns).map(PathPatternParser.defaultInstance::parse).toList());
+    }
+
+    private String groupOf(PathContainer path) {
+        for (Map.Entry<String, List<PathPattern>> group : groups.entrySet()) {
+            for (PathPattern pattern : group.getValue()) {
+                if (pattern.matches(path)) {
+                    return group.getKey();
+                }
+            }
+        }
+        return DEFAULT_GROUP;
+    }
+
+    private static boolean isAdmin() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(authority -> Role.ADMIN.name().equals(authority.getAuthority()));
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,89 @@
+package org.tribenet.tribenet.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "tribenet.datasource.replica", name = "url")
+public class DataSourceRoutingConfig {
+
+    // Both pools take the spring.datasource.hikari.* settings (pool size and so
+    // on) that Boot would otherwise only apply to its own auto-configured pool
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public DataSource primaryDataSource(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${spring.datasource.driver-class-name:}") String driverClassName) {
+        return buildDataSource(url, username, password, driverClassName);
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public DataSource replicaDataSource(
+            @Value("${tribenet.datasource.replica.url}") String url,
+            @Value("${tribenet.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${tribenet.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${tribenet.datasource.replica.driver-class-name:${spring.datasource.driver-class-name:}}") String driverClassName) {
+        return buildDataSource(url, username, password, driverClassName);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${tribenet.datasource.replica.sticky-window-ms:5000}") long stickyWindowMillis) {
+        return new ReadYourWritesTracker(stickyWindowMillis);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReadYourWritesTracker readYourWritesTracker,
+            @Value("${tribenet.datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${tribenet.datasource.replica.lag-column:Seconds_Behind_Source}") String lagColumn,
+            @Value("${tribenet.datasource.replica.max-lag-seconds:2}") long maxLagSeconds) {
+        return new ReplicaLagMonitor(replicaDataSource, readYourWritesTracker, lagQuery, lagColumn, maxLagSeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            ReadYourWritesTracker readYourWritesTracker) {
+        ReplicaRoutingDataSource routingDataSource =
+                new ReplicaRoutingDataSource(replicaLagMonitor, readYourWritesTracker);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Route.PRIMARY, primaryDataSource,
+                ReplicaRoutingDataSource.Route.REPLICA, replicaDataSource
+        ));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        // Defer the routing decision until the first statement, after the
+        // transaction manager has applied the read-only flag.
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private DataSource buildDataSource(String url, String username, String password, String driverClassName) {
+        DataSourceBuilder<?> builder = DataSourceBuilder.create()
+                .url(url)
+                .username(username)
+                .password(password);
+        if (!driverClassName.isBlank()) {
+            builder.driverClassName(driverClassName);
+        }
+        return builder.build();
+    }
+}
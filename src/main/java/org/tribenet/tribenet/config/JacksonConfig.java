@@ -0,0 +1,42 @@
+package org.tribenet.tribenet.config;
+
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.boot.jackson.autoconfigure.CborMapperBuilderCustomizer;
+import org.springframework.boot.jackson.autoconfigure.JsonMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import tools.jackson.databind.ser.FilterProvider;
+import tools.jackson.databind.ser.std.SimpleBeanPropertyFilter;
+import tools.jackson.databind.ser.std.SimpleFilterProvider;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * DTOs annotated with {@code @JsonFilter(SPARSE_FIELDS)} serialize every
+ * property unless {@link SparseFieldsetAdvice} supplies a narrower filter for
+ * the request, so both mappers need a default filter registered.
+ */
+@Configuration
+public class JacksonConfig {
+
+    public static final String SPARSE_FIELDS = "sparseFields";
+
+    public static final FilterProvider ALL_FIELDS = new SimpleFilterProvider()
+            .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+
+    @Bean
+    public JsonMapperBuilderCustomizer allFieldsJsonMapperCustomizer() {
+        return builder -> builder.filterProvider(ALL_FIELDS);
+    }
+
+    @Bean
+    public CborMapperBuilderCustomizer allFieldsCborMapperCustomizer() {
+        return builder -> builder.filterProvider(ALL_FIELDS);
+    }
+
+    /** Keeps CBOR after JSON in the default converter order, but backed by the configured mapper. */
+    @Bean
+    public ServerHttpMessageConvertersCustomizer cborMessageConverterCustomizer(CBORMapper cborMapper) {
+        return builder -> builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper));
+    }
+}
@@ -1,5 +1,7 @@
 package org.tribenet.tribenet.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,15 +15,29 @@ import org.tribenet.tribenet.utility.JwtUtil;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserService userService;
+    private final Timer parseTimer;
+    private final Timer userLoadTimer;
+    private final Timer authorizeTimer;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.userService = userService;
+        this.parseTimer = phaseTimer(meterRegistry, "parse");
+        this.userLoadTimer = phaseTimer(meterRegistry, "user_load");
+        this.authorizeTimer = phaseTimer(meterRegistry, "authorize");
+    }
+
+    /** Static UI files never carry a token, so skip the filter for them. */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith(StaticAssetConfig.ASSETS_PATH) || path.equals("/") || path.equals("/index.html");
     }
 
     @Override
@@ -34,13 +50,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             token = authHeader.substring(7);
+            long start = System.nanoTime();
             username = jwtUtil.extractUsername(token);
+            parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
+            long start = System.nanoTime();
             var userDetails = userService.loadUserByUsername(username);
+            userLoadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
+            start = System.nanoTime();
             if (jwtUtil.validateToken(token, userDetails.getUsername())) {
 
                 String role = jwtUtil.extractRole(token);
@@ -54,8 +75,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
+            authorizeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("tribenet.auth.filter")
+                .description("Time spent in each JWT authentication phase")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,64 @@
+package org.tribenet.tribenet.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Polls the replica for its replication delay. MySQL reports it through
+ * {@code SHOW REPLICA STATUS}; embedded databases can plug in any query that
+ * returns the lag column.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final long maxLagSeconds;
+
+    private volatile boolean replicaHealthy = false;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, ReadYourWritesTracker readYourWritesTracker,
+                             String lagQuery, String lagColumn, long maxLagSeconds) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    @Scheduled(fixedDelayString = "${tribenet.datasource.replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        boolean healthy;
+        try {
+            List<Map<String, Object>> rows = replicaJdbcTemplate.queryForList(lagQuery);
+            if (rows.isEmpty()) {
+                healthy = true;
+            } else {
+                Object lag = rows.get(0).get(lagColumn);
+                healthy = lag instanceof Number number && number.longValue() <= maxLagSeconds;
+            }
+        } catch (Exception e) {
+            log.debug("Replica lag check failed: {}", e.getMessage());
+            healthy = false;
+        }
+
+        if (healthy != replicaHealthy) {
+            log.info("Replica is now {}", healthy ? "serving reads" : "bypassed, reads fall back to primary");
+        }
+        replicaHealthy = healthy;
+        readYourWritesTracker.evictExpired();
+    }
+}
@@ -0,0 +1,58 @@
+package org.tribenet.tribenet.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.security.autoconfigure.web.servlet.SecurityFilterProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Ordered ahead of the security filter chain so the statements issued by
+ * {@link JwtAuthenticationFilter} to load the caller count towards the request.
+ */
+@Component
+@Order(SecurityFilterProperties.DEFAULT_FILTER_ORDER - 1)
+public class RequestSqlMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final SqlQueryDetector sqlQueryDetector;
+
+    public RequestSqlMetricsFilter(MeterRegistry meterRegistry, SqlQueryDetector sqlQueryDetector) {
+        this.meterRegistry = meterRegistry;
+        this.sqlQueryDetector = sqlQueryDetector;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        SqlStatementInspector.begin(sqlQueryDetector);
+        SqlStatementInspector.RequestSqlStats stats;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            stats = SqlStatementInspector.end();
+            DistributionSummary.builder("tribenet.http.sql.statements")
+                    .description("SQL statements issued while serving a request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uriTemplate(request))
+                    .register(meterRegistry)
+                    .record(stats.statements());
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        sqlQueryDetector.inspect(request.getMethod() + " " + uriTemplate(request), stats, elapsedMillis);
+    }
+
+    static String uriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -1,5 +1,7 @@
 package org.tribenet.tribenet.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,6 +14,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.tribenet.tribenet.model.Role;
 import org.tribenet.tribenet.service.UserService;
 import org.tribenet.tribenet.utility.JwtUtil;
 
@@ -25,8 +28,9 @@ public class SecurityConfig {
     }
 
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService) {
-        return new JwtAuthenticationFilter(jwtUtil, userService);
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService,
+                                                           MeterRegistry meterRegistry) {
+        return new JwtAuthenticationFilter(jwtUtil, userService, meterRegistry);
     }
 
     @Bean
@@ -38,8 +42,11 @@ public class SecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtFilter) throws Exception{
         http.csrf(csrf -> csrf.disable());
         http.authorizeHttpRequests(auth ->
-                auth.requestMatchers("/api/v1/auth/**", "/swagger-ui/**", "/v3/api-docs/**", 
-                        "/", "/index.html", "/*.html", "/*.css", "/*.js", "/static/**", "/css/**", "/js/**").permitAll()
+                auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/api/v1/auth/**", "/swagger-ui/**", "/v3/api-docs/**", 
+                        "/", "/index.html", "/*.html", "/static/**", "/css/**", "/js/**", "/assets/**",
+                        "/actuator/health").permitAll()
+                        .requestMatchers("/actuator/prometheus").hasAuthority(Role.ADMIN.name())
                         .anyRequest().authenticated());
         http.headers(headers ->
                 headers.frameOptions(frame -> frame.sameOrigin()));
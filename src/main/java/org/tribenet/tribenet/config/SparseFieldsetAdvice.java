@@ -0,0 +1,76 @@
+package org.tribenet.tribenet.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractJacksonHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import tools.jackson.databind.ser.FilterProvider;
+import tools.jackson.databind.ser.std.SimpleBeanPropertyFilter;
+import tools.jackson.databind.ser.std.SimpleFilterProvider;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse fieldsets: {@code ?fields=userId,name} limits every DTO carrying the
+ * {@link JacksonConfig#SPARSE_FIELDS} filter to the listed properties. The
+ * filter is passed to the Jackson converter as a write hint, so the response
+ * is still streamed straight from the DTOs. Unknown names are ignored, and
+ * wrappers such as {@code BatchResponseDTO} keep their own properties.
+ */
+@RestControllerAdvice
+public class SparseFieldsetAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String FIELDS_PARAM = "fields";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJacksonHttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        return body;
+    }
+
+    @Override
+    public Map<String, Object> determineWriteHints(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                                   Class<? extends HttpMessageConverter<?>> selectedConverterType) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        Set<String> fields = parseFields(attributes.getRequest());
+        if (fields.isEmpty()) {
+            return null;
+        }
+        FilterProvider filter = new SimpleFilterProvider()
+                .addFilter(JacksonConfig.SPARSE_FIELDS, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+        return Map.of(FilterProvider.class.getName(), filter);
+    }
+
+    private static Set<String> parseFields(HttpServletRequest request) {
+        Set<String> fields = new LinkedHashSet<>();
+        String[] values = request.getParameterValues(FIELDS_PARAM);
+        if (values != null) {
+            for (String value : values) {
+                for (String field : StringUtils.commaDelimitedListToStringArray(value)) {
+                    if (StringUtils.hasText(field)) {
+                        fields.add(field.trim());
+                    }
+                }
+            }
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,32 @@
+package org.tribenet.tribenet.config;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.SqlProvider;
+
+import javax.sql.DataSource;
+
+/**
+ * {@link JdbcTemplate} whose queries count towards the per-request SQL metrics
+ * and N+1 budgets, which otherwise only see the statements Hibernate prepares
+ * through {@link SqlStatementInspector}. Every query method, including those
+ * used by {@code JdbcClient}, ends up in the overridden one.
+ */
+public class SqlMetricsJdbcTemplate extends JdbcTemplate {
+
+    public SqlMetricsJdbcTemplate(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public <T> T query(PreparedStatementCreator psc, PreparedStatementSetter pss, ResultSetExtractor<T> rse)
+            throws DataAccessException {
+        if (psc instanceof SqlProvider provider && provider.getSql() != null) {
+            SqlStatementInspector.record(provider.getSql());
+        }
+        return super.query(psc, pss, rse);
+    }
+}
@@ -0,0 +1,91 @@
+package org.tribenet.tribenet.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flags requests that repeat the same statement shape (N+1), exceed the
+ * per-request statement budget or run longer than the time budget. Enabled in
+ * the dev and test profiles; with {@code fail-on-violation} the statement that
+ * breaks the shape or count budget throws, so a regression fails the test that
+ * exercised it while the handler is still running and before anything is
+ * written to the response. The time budget is only logged, since wall-clock
+ * time depends on the machine running the tests.
+ */
+@Component
+public class SqlQueryDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlQueryDetector.class);
+
+    private final boolean enabled;
+    private final int maxStatements;
+    private final int repeatThreshold;
+    private final long maxRequestMillis;
+    private final boolean failOnViolation;
+
+    public SqlQueryDetector(
+            @Value("${tribenet.sql-detector.enabled:false}") boolean enabled,
+            @Value("${tribenet.sql-detector.max-statements:20}") int maxStatements,
+            @Value("${tribenet.sql-detector.repeat-threshold:5}") int repeatThreshold,
+            @Value("${tribenet.sql-detector.max-request-ms:500}") long maxRequestMillis,
+            @Value("${tribenet.sql-detector.fail-on-violation:false}") boolean failOnViolation) {
+        this.enabled = enabled;
+        this.maxStatements = maxStatements;
+        this.repeatThreshold = repeatThreshold;
+        this.maxRequestMillis = maxRequestMillis;
+        this.failOnViolation = failOnViolation;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Called for every statement of a request while the detector is enabled. */
+    void check(int statements, String shape, int repeats) {
+        if (!failOnViolation) {
+            return;
+        }
+        if (repeats >= repeatThreshold) {
+            throw new SqlBudgetExceededException("N+1 suspected, " + repeats + "x: " + shape);
+        }
+        if (statements > maxStatements) {
+            throw new SqlBudgetExceededException(statements + " statements exceed the budget of " + maxStatements);
+        }
+    }
+
+    void inspect(String endpoint, SqlStatementInspector.RequestSqlStats stats, long elapsedMillis) {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, Integer> shape : stats.shapes().entrySet()) {
+            if (shape.getValue() >= repeatThreshold) {
+                violations.add("N+1 suspected, " + shape.getValue() + "x: " + shape.getKey());
+            }
+        }
+        if (stats.statements() > maxStatements) {
+            violations.add(stats.statements() + " statements exceed the budget of " + maxStatements);
+        }
+        if (elapsedMillis > maxRequestMillis) {
+            violations.add("took " + elapsedMillis + " ms, over the budget of " + maxRequestMillis + " ms");
+        }
+
+        if (violations.isEmpty()) {
+            return;
+        }
+        log.warn("SQL budget violation on {}: {}", endpoint, String.join("; ", violations));
+    }
+
+    public static class SqlBudgetExceededException extends RuntimeException {
+        public SqlBudgetExceededException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.tribenet.tribenet.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Registered with Hibernate through
+ * {@code hibernate.session_factory.statement_inspector}; counts every statement
+ * prepared on the current thread so {@link RequestSqlMetricsFilter} can attribute
+ * it to the HTTP request being served; {@link SqlMetricsJdbcTemplate} reports
+ * plain JDBC statements here too. When the {@link SqlQueryDetector} is enabled,
+ * statements are also grouped by their normalized text to spot N+1 patterns,
+ * and each one is checked against the budgets as it is prepared.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\((?:\\s*\\?\\s*,)*\\s*\\?\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Override
+    public String inspect(String sql) {
+        record(sql);
+        return sql;
+    }
+
+    static void record(String sql) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.record(sql);
+        }
+    }
+
+    static void begin(SqlQueryDetector detector) {
+        CURRENT.set(new RequestSqlStats(detector.isEnabled() ? detector : null));
+    }
+
+    static RequestSqlStats end() {
+        RequestSqlStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats != null ? stats : new RequestSqlStats(null);
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    static final class RequestSqlStats {
+
+        private final SqlQueryDetector detector;
+        private final Map<String, Integer> shapes;
+        private int statements;
+
+        private RequestSqlStats(SqlQueryDetector detector) {
+            this.detector = detector;
+            this.shapes = detector != null ? new HashMap<>() : null;
+        }
+
+        private void record(String sql) {
+            statements++;
+            if (detector != null) {
+                String shape = shapeOf(sql);
+                detector.check(statements, shape, shapes.merge(shape, 1, Integer::sum));
+            }
+        }
+
+        int statements() {
+            return statements;
+        }
+
+        Map<String, Integer> shapes() {
+            return shapes != null ? shapes : Map.of();
+        }
+    }
+}
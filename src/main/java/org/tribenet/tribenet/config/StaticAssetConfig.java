@@ -0,0 +1,30 @@
+package org.tribenet.tribenet.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the content-hashed UI bundle written to {@code static/assets/} at build
+ * time. A changed file gets a new name, so responses are cacheable forever;
+ * {@link EncodedResourceResolver} picks the precompressed {@code .br} or
+ * {@code .gz} variant matching the request's Accept-Encoding.
+ */
+@Configuration
+public class StaticAssetConfig implements WebMvcConfigurer {
+
+    public static final String ASSETS_PATH = "/assets/";
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler(ASSETS_PATH + "**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+}
@@ -1,17 +1,29 @@
 package org.tribenet.tribenet.controller;
 
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.tribenet.tribenet.config.SparseFieldsetAdvice;
 import org.tribenet.tribenet.dto.*;
 import org.tribenet.tribenet.model.User;
+import org.tribenet.tribenet.service.ClubCatalogService;
+import org.tribenet.tribenet.service.ClubEventStreamService;
+import org.tribenet.tribenet.service.ClubFacetService;
 import org.tribenet.tribenet.service.ClubService;
+import org.tribenet.tribenet.service.MembershipIntersectionService;
+import org.tribenet.tribenet.service.SingleFlight;
+import org.tribenet.tribenet.service.TrendingClubService;
 import org.tribenet.tribenet.service.UserService;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
@@ -20,10 +32,25 @@ public class ClubController {
 
     private final ClubService clubService;
     private final UserService userService;
-
-    public ClubController(ClubService clubService, UserService userService) {
+    private final TrendingClubService trendingClubService;
+    private final MembershipIntersectionService membershipIntersectionService;
+    private final ClubFacetService clubFacetService;
+    private final ClubEventStreamService clubEventStreamService;
+    private final SingleFlight singleFlight;
+    private final ClubCatalogService clubCatalogService;
+
+    public ClubController(ClubService clubService, UserService userService, TrendingClubService trendingClubService,
+                          MembershipIntersectionService membershipIntersectionService, ClubFacetService clubFacetService,
+                          ClubEventStreamService clubEventStreamService, SingleFlight singleFlight,
+                          ClubCatalogService clubCatalogService) {
         this.clubService = clubService;
         this.userService = userService;
+        this.trendingClubService = trendingClubService;
+        this.membershipIntersectionService = membershipIntersectionService;
+        this.clubFacetService = clubFacetService;
+        this.clubEventStreamService = clubEventStreamService;
+        this.singleFlight = singleFlight;
+        this.clubCatalogService = clubCatalogService;
     }
 
     @PostMapping
@@ -33,18 +60,61 @@ public class ClubController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdClub);
     }
 
+    /**
+     * Plain JSON is served from pre-encoded bytes, and Spring answers a matching
+     * If-None-Match with 304. Sparse fieldsets and CBOR go through the converters.
+     */
     @GetMapping
-    public ResponseEntity<List<ClubDetailDTO>> getAllClubs() {
-        List<ClubDetailDTO> clubs = clubService.getAllClubs();
-        return ResponseEntity.ok(clubs);
+    public ResponseEntity<?> getAllClubs(
+            @RequestParam(name = SparseFieldsetAdvice.FIELDS_PARAM, required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (fields != null || (accept != null && accept.contains(MediaType.APPLICATION_CBOR_VALUE))) {
+            return ResponseEntity.ok(clubService.getAllClubs());
+        }
+        ClubCatalogService.Snapshot catalog = clubCatalogService.getCatalog();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.eTag(catalog.gzipEtag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(catalog.gzip());
+        }
+        return response.eTag(catalog.etag()).body(catalog.json());
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<List<CategoryFacetDTO>> getFacets() {
+        return ResponseEntity.ok(clubFacetService.getFacets());
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingClubDTO>> getTrendingClubs(
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingClubService.getTrendingClubs(window, limit));
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<BatchResponseDTO<ClubDetailDTO>> getClubsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(clubService.getClubsByIds(ids));
     }
 
     @GetMapping("/{clubId}")
     public ResponseEntity<ClubDetailDTO> getClubById(@PathVariable Long clubId) {
-        ClubDetailDTO club = clubService.getClubById(clubId);
+        ClubDetailDTO club = singleFlight.execute("club", clubId, () -> clubService.getClubById(clubId));
         return ResponseEntity.ok(club);
     }
 
+    @GetMapping("/{clubId}/overview")
+    public ResponseEntity<ClubOverviewDTO> getClubOverview(
+            @PathVariable Long clubId,
+            @RequestParam(defaultValue = "5") int recent) {
+        return ResponseEntity.ok(clubService.getClubOverview(clubId, Math.max(1, Math.min(recent, 20))));
+    }
+
     @PutMapping("/{clubId}")
     public ResponseEntity<ClubDetailDTO> updateClub(
             @PathVariable Long clubId,
@@ -76,12 +146,27 @@ public class ClubController {
         return ResponseEntity.ok(Map.of("message", "Successfully left the club"));
     }
 
+    @GetMapping(path = "/{clubId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamClubEvents(@PathVariable Long clubId) {
+        return ResponseEntity.ok(clubEventStreamService.subscribe(clubId));
+    }
+
     @GetMapping("/{clubId}/members")
     public ResponseEntity<List<MemberResponseDTO>> getClubMembers(@PathVariable Long clubId) {
-        List<MemberResponseDTO> members = clubService.getClubMembers(clubId);
+        List<MemberResponseDTO> members = singleFlight.execute("club-members", clubId,
+                () -> clubService.getClubMembers(clubId));
         return ResponseEntity.ok(members);
     }
 
+    @GetMapping("/{clubId}/shared-members/{otherClubId}")
+    public ResponseEntity<IntersectionResponseDTO> getSharedMembers(
+            @PathVariable Long clubId,
+            @PathVariable Long otherClubId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(membershipIntersectionService.getSharedMembers(clubId, otherClubId, after, limit));
+    }
+
     @PutMapping("/{clubId}/members/{userId}/promote")
     public ResponseEntity<Map<String, String>> promoteMember(
             @PathVariable Long clubId,
@@ -102,6 +187,40 @@ public class ClubController {
         return ResponseEntity.ok(Map.of("message", "Member removed successfully"));
     }
 
+    /**
+     * Whether Accept-Encoding allows gzip: a {@code gzip} (or {@code x-gzip})
+     * entry decides by its q-value, otherwise a {@code *} entry does.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = q;
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        Double q = gzip != null ? gzip : any;
+        return q != null && q > 0;
+    }
+
     private User getUserFromAuth(Authentication auth) {
         UserDetails userDetails = (UserDetails) auth.getPrincipal();
         return userService.findByUsername(userDetails.getUsername());
@@ -0,0 +1,39 @@
+package org.tribenet.tribenet.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.tribenet.tribenet.dto.DashboardDTO;
+import org.tribenet.tribenet.model.User;
+import org.tribenet.tribenet.service.DashboardService;
+import org.tribenet.tribenet.service.UserService;
+
+@RestController
+@RequestMapping("/api/v1/me")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+    private final UserService userService;
+
+    public DashboardController(DashboardService dashboardService, UserService userService) {
+        this.dashboardService = dashboardService;
+        this.userService = userService;
+    }
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<DashboardDTO> getDashboard(
+            @RequestParam(defaultValue = "6") int limit,
+            Authentication auth) {
+        User currentUser = getUserFromAuth(auth);
+        return ResponseEntity.ok(dashboardService.getDashboard(currentUser.getId(), limit));
+    }
+
+    private User getUserFromAuth(Authentication auth) {
+        UserDetails userDetails = (UserDetails) auth.getPrincipal();
+        return userService.findByUsername(userDetails.getUsername());
+    }
+}
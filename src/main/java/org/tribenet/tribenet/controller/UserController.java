@@ -7,20 +7,35 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.tribenet.tribenet.dto.BatchResponseDTO;
 import org.tribenet.tribenet.dto.ClubResponseDTO;
+import org.tribenet.tribenet.dto.IntersectionResponseDTO;
+import org.tribenet.tribenet.dto.RecommendedClubDTO;
 import org.tribenet.tribenet.dto.UserResponseDTO;
+import org.tribenet.tribenet.dto.UserSuggestionDTO;
 import org.tribenet.tribenet.model.User;
+import org.tribenet.tribenet.service.ClubRecommendationService;
+import org.tribenet.tribenet.service.MembershipIntersectionService;
 import org.tribenet.tribenet.service.UserService;
+import org.tribenet.tribenet.service.UserSuggestIndex;
 
 @RestController
 @RequestMapping("/api/v1/users")
 public class UserController {
 
     private final UserService userService;
+    private final ClubRecommendationService clubRecommendationService;
+    private final MembershipIntersectionService membershipIntersectionService;
+    private final UserSuggestIndex userSuggestIndex;
 
-    UserController(UserService userService){
+    UserController(UserService userService, ClubRecommendationService clubRecommendationService,
+                   MembershipIntersectionService membershipIntersectionService, UserSuggestIndex userSuggestIndex){
         this.userService = userService;
+        this.clubRecommendationService = clubRecommendationService;
+        this.membershipIntersectionService = membershipIntersectionService;
+        this.userSuggestIndex = userSuggestIndex;
     }
     
     @GetMapping()
@@ -29,6 +44,18 @@ public class UserController {
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<List<UserSuggestionDTO>> suggestUsers(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userSuggestIndex.suggest(prefix, limit));
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<BatchResponseDTO<UserResponseDTO>> getUsersByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(userService.getUsersByIds(ids));
+    }
+
     @GetMapping("/{userId}")
     public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long userId) {
         return userService.getUserById(userId)
@@ -42,4 +69,20 @@ public class UserController {
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    @GetMapping("/{userId}/recommended-clubs")
+    public ResponseEntity<List<RecommendedClubDTO>> getRecommendedClubs(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(clubRecommendationService.recommendClubs(userId, limit));
+    }
+
+    @GetMapping("/{userId}/mutual-clubs/{otherUserId}")
+    public ResponseEntity<IntersectionResponseDTO> getMutualClubs(
+            @PathVariable Long userId,
+            @PathVariable Long otherUserId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(membershipIntersectionService.getMutualClubs(userId, otherUserId, after, limit));
+    }
 }
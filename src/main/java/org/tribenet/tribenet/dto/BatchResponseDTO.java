@@ -0,0 +1,15 @@
+package org.tribenet.tribenet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchResponseDTO<T> {
+    private List<T> items;
+    private List<Long> missing;
+}
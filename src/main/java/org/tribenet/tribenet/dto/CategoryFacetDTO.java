@@ -0,0 +1,16 @@
+package org.tribenet.tribenet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryFacetDTO {
+    private String category;
+    private Long clubs;
+    private Long freeClubs;
+    private Long paidClubs;
+    private Long members;
+}
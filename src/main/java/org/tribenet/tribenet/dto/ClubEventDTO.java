@@ -0,0 +1,15 @@
+package org.tribenet.tribenet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClubEventDTO {
+    private Long clubId;
+    private Long userId;
+    private String type;
+    private Integer memberCountDelta;
+}
@@ -0,0 +1,17 @@
+package org.tribenet.tribenet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClubOverviewDTO {
+    private ClubDetailDTO club;
+    private UserSuggestionDTO creator;
+    private List<MemberResponseDTO> admins;
+    private List<MemberResponseDTO> recentMembers;
+}
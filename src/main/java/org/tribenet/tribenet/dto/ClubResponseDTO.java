@@ -1,14 +1,17 @@
 package org.tribenet.tribenet.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.tribenet.tribenet.config.JacksonConfig;
 
 import java.math.BigDecimal;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonFilter(JacksonConfig.SPARSE_FIELDS)
 public class ClubResponseDTO {
     private Long id;
     private String name;
@@ -0,0 +1,18 @@
+package org.tribenet.tribenet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardDTO {
+    private List<ClubResponseDTO> myClubs;
+    private List<ClubDetailDTO> clubs;
+    private long totalClubs;
+    private int myClubsCount;
+    private int adminClubsCount;
+}
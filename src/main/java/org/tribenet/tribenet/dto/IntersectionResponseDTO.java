@@ -0,0 +1,16 @@
+package org.tribenet.tribenet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IntersectionResponseDTO {
+    private Long count;
+    private List<Long> ids;
+    private Long nextAfter;
+}
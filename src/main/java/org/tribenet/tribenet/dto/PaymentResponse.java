@@ -1,8 +1,10 @@
 package org.tribenet.tribenet.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.tribenet.tribenet.config.JacksonConfig;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,6 +12,7 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonFilter(JacksonConfig.SPARSE_FIELDS)
 public class PaymentResponse {
 
     private Long id;
@@ -0,0 +1,25 @@
+package org.tribenet.tribenet.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.tribenet.tribenet.config.JacksonConfig;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonFilter(JacksonConfig.SPARSE_FIELDS)
+public class RecommendedClubDTO {
+    private Long id;
+    private String name;
+    private String description;
+    private String category;
+    private boolean free;
+    private BigDecimal price;
+    private Integer memberCount;
+    private Integer sharedMembers;
+    private Double score;
+}
@@ -0,0 +1,20 @@
+package org.tribenet.tribenet.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.tribenet.tribenet.config.JacksonConfig;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonFilter(JacksonConfig.SPARSE_FIELDS)
+public class TrendingClubDTO {
+    private Long id;
+    private String name;
+    private String category;
+    private Long joins;
+    private Long leaves;
+    private Long netGrowth;
+}
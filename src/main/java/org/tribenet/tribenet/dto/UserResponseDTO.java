@@ -1,12 +1,15 @@
 package org.tribenet.tribenet.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.tribenet.tribenet.config.JacksonConfig;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonFilter(JacksonConfig.SPARSE_FIELDS)
 public class UserResponseDTO {
     private Long id;
     private String name;
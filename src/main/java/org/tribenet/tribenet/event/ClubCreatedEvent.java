@@ -0,0 +1,4 @@
+package org.tribenet.tribenet.event;
+
+public record ClubCreatedEvent(Long clubId, String category, boolean free) {
+}
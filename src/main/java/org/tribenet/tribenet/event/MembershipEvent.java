@@ -0,0 +1,4 @@
+package org.tribenet.tribenet.event;
+
+public record MembershipEvent(Long clubId, Long userId, MembershipEventType type) {
+}
@@ -0,0 +1,8 @@
+package org.tribenet.tribenet.event;
+
+public enum MembershipEventType {
+    JOINED,
+    LEFT,
+    PROMOTED,
+    REMOVED
+}
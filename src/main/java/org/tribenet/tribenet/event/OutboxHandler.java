@@ -0,0 +1,21 @@
+package org.tribenet.tribenet.event;
+
+import org.tribenet.tribenet.model.OutboxEvent;
+
+/**
+ * Consumer of outbox events. Each handler keeps its own offset and sees events
+ * at least once, in id order except for an event whose transaction committed
+ * after the offset had already moved past its id; it runs inside the transaction
+ * that advances its offset, so database writes it makes commit together with
+ * that offset.
+ */
+public interface OutboxHandler {
+
+    String name();
+
+    default boolean accepts(String eventType) {
+        return true;
+    }
+
+    void handle(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,6 @@
+package org.tribenet.tribenet.event;
+
+import java.util.List;
+
+public record UserDeletedEvent(Long userId, String username, List<Long> clubIds) {
+}
@@ -0,0 +1,4 @@
+package org.tribenet.tribenet.event;
+
+public record UserRegisteredEvent(Long userId, String username, String name) {
+}
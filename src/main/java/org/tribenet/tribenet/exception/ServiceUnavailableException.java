@@ -0,0 +1,7 @@
+package org.tribenet.tribenet.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
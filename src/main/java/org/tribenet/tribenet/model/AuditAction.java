@@ -0,0 +1,8 @@
+package org.tribenet.tribenet.model;
+
+public enum AuditAction {
+    USER_DELETED,
+    CLUB_DELETED,
+    MEMBER_PROMOTED,
+    MEMBER_REMOVED
+}
@@ -0,0 +1,31 @@
+package org.tribenet.tribenet.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/** Append-only audit row, inserted in batches by {@code AuditLog}. */
+@Entity
+@Table(name = "audit_log")
+@Data
+public class AuditEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private AuditAction action;
+
+    /** Null for system actions. */
+    private Long actorId;
+
+    private Long userId;
+
+    private Long clubId;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -3,12 +3,15 @@ package org.tribenet.tribenet.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "clubs")
+@SQLRestriction("deleted_at IS NULL")
 @Data
 public class Club {
 
@@ -30,7 +33,9 @@ public class Club {
     @JoinColumn(name = "creator_id")
     private User creator;
 
-    @OneToMany(mappedBy = "club", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "club")
     private List<UserClub> members;
+
+    private LocalDateTime deletedAt;
 }
 
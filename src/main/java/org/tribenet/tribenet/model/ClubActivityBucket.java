@@ -0,0 +1,29 @@
+package org.tribenet.tribenet.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Table(
+        name = "club_activity_buckets",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"club_id", "bucket_hour"})
+)
+@Data
+public class ClubActivityBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+
+    @Column(name = "bucket_hour", nullable = false)
+    private Long bucketHour;
+
+    @Column(nullable = false)
+    private Long joins;
+
+    @Column(nullable = false)
+    private Long leaves;
+}
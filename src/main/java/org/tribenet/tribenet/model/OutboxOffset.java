@@ -0,0 +1,33 @@
+package org.tribenet.tribenet.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Entity
+@Table(name = "outbox_offsets")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxOffset {
+
+    @Id
+    private String handler;
+
+    @Column(nullable = false)
+    private Long lastEventId;
+
+    private LocalDateTime updatedAt;
+
+    /** Ids the offset moved past before they were visible, with when they were skipped. */
+    @ElementCollection
+    @CollectionTable(name = "outbox_skipped_ids", joinColumns = @JoinColumn(name = "handler"))
+    @MapKeyColumn(name = "event_id")
+    @Column(name = "skipped_at", nullable = false)
+    private Map<Long, LocalDateTime> skippedIds = new HashMap<>();
+}
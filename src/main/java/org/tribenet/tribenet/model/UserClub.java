@@ -6,6 +6,8 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
+@NamedEntityGraph(name = UserClub.MEMBER_LISTING, attributeNodes = @NamedAttributeNode("user"))
+@NamedEntityGraph(name = UserClub.USER_CLUBS, attributeNodes = @NamedAttributeNode("club"))
 @Table(
         name = "user_club",
         uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "club_id"})
@@ -13,6 +15,14 @@ import java.time.LocalDateTime;
 @Data
 public class UserClub {
 
+    /**
+     * Fetch profiles that repository queries opt into with {@code @EntityGraph}.
+     * Associations outside the graph stay lazy and load in batches of
+     * {@code hibernate.default_batch_fetch_size}.
+     */
+    public static final String MEMBER_LISTING = "UserClub.memberListing";
+    public static final String USER_CLUBS = "UserClub.userClubs";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
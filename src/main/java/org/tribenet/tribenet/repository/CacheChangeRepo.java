@@ -0,0 +1,25 @@
+package org.tribenet.tribenet.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.tribenet.tribenet.model.CacheChange;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CacheChangeRepo extends JpaRepository<CacheChange, Long> {
+
+    List<CacheChange> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM CacheChange c")
+    long findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM CacheChange c WHERE c.createdAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,28 @@
+package org.tribenet.tribenet.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.tribenet.tribenet.model.ClubActivityBucket;
+
+import java.util.List;
+
+@Repository
+public interface ClubActivityBucketRepo extends JpaRepository<ClubActivityBucket, Long> {
+
+    List<ClubActivityBucket> findByBucketHourGreaterThan(Long bucketHour);
+
+    @Modifying
+    @Query(value = "INSERT INTO club_activity_buckets (club_id, bucket_hour, joins, leaves) " +
+            "VALUES (:clubId, :bucketHour, :joins, :leaves) " +
+            "ON DUPLICATE KEY UPDATE joins = joins + VALUES(joins), leaves = leaves + VALUES(leaves)",
+            nativeQuery = true)
+    void addToBucket(@Param("clubId") Long clubId, @Param("bucketHour") Long bucketHour,
+                     @Param("joins") long joins, @Param("leaves") long leaves);
+
+    @Modifying
+    @Query("DELETE FROM ClubActivityBucket b WHERE b.bucketHour <= :bucketHour")
+    int deleteOlderThan(@Param("bucketHour") Long bucketHour);
+}
@@ -0,0 +1,11 @@
+package org.tribenet.tribenet.repository;
+
+public interface ClubFacetRow {
+    Long getId();
+
+    String getCategory();
+
+    Boolean getFree();
+
+    Long getMemberCount();
+}
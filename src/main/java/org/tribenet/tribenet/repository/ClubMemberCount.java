@@ -0,0 +1,7 @@
+package org.tribenet.tribenet.repository;
+
+public interface ClubMemberCount {
+    Long getClubId();
+
+    Long getMemberCount();
+}
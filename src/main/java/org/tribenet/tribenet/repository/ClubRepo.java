@@ -1,9 +1,43 @@
 package org.tribenet.tribenet.repository;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.tribenet.tribenet.model.Club;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
 public interface ClubRepo extends JpaRepository<Club, Long> {
+
+    @Query("SELECT c.id AS id, c.category AS category, c.free AS free, COUNT(u) AS memberCount " +
+            "FROM Club c LEFT JOIN c.members m LEFT JOIN m.user u ON u.deletedAt IS NULL " +
+            "GROUP BY c.id, c.category, c.free")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<ClubFacetRow> streamFacetRows();
+
+    List<Club> findAllByOrderByIdAsc(Limit limit);
+
+    @Query("SELECT u.id AS id, u.username AS username, u.name AS name FROM Club c JOIN c.creator u WHERE c.id = :clubId")
+    Optional<UserNameFields> findCreatorByClubId(@Param("clubId") Long clubId);
+
+    @Query(value = "SELECT id FROM clubs WHERE deleted_at IS NOT NULL ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findDeletedIds(@Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM clubs WHERE creator_id = :userId", nativeQuery = true)
+    long countAllByCreatorId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM clubs WHERE id = :clubId AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purgeDeleted(@Param("clubId") Long clubId);
 }
@@ -0,0 +1,110 @@
+package org.tribenet.tribenet.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.tribenet.tribenet.config.SqlMetricsJdbcTemplate;
+import org.tribenet.tribenet.dto.MemberResponseDTO;
+import org.tribenet.tribenet.dto.PaymentResponse;
+import org.tribenet.tribenet.dto.UserResponseDTO;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * High-volume reads mapped row by row into response DTOs over forward-only,
+ * read-only result sets, skipping entity hydration, dirty-check snapshots and
+ * proxies. Statements run on the connection of the surrounding transaction, so
+ * replica routing applies as for JPA reads. The soft-delete filters Hibernate
+ * adds through {@code @SQLRestriction} are spelled out in the SQL.
+ * <p>
+ * Each read returns the whole result as a list, since the endpoints serialize
+ * it as one JSON array. {@code tribenet.jdbc-reads.fetch-size} only limits how
+ * many raw rows the driver buffers alongside the DTOs being built. MySQL
+ * Connector/J ignores it unless the URL sets {@code useCursorFetch=true}; without
+ * that the driver reads the entire result before the first row is mapped.
+ * <p>
+ * Which reads take this path is chosen with {@code tribenet.jdbc-reads.queries}, a
+ * comma-separated list of {@link #MEMBERS}, {@link #USERS} and {@link #PAYMENTS};
+ * the rest go through their JPA repositories.
+ */
+@Repository
+public class JdbcReadRepo {
+
+    public static final String MEMBERS = "members";
+    public static final String USERS = "users";
+    public static final String PAYMENTS = "payments";
+
+    private static final String MEMBERS_BY_CLUB = """
+            SELECT u.id, u.name, u.username, u.email, uc.club_role, uc.joined_at
+            FROM user_club uc JOIN users u ON u.id = uc.user_id
+            WHERE uc.club_id = ? AND u.deleted_at IS NULL""";
+
+    private static final String USERS_EXCEPT = """
+            SELECT id, name, username, email, role
+            FROM users
+            WHERE id <> ? AND deleted_at IS NULL""";
+
+    private static final String PAYMENTS_BY_USER = """
+            SELECT id, order_id, payment_id, amount, currency, status, created_at
+            FROM payments
+            WHERE user_id = ?""";
+
+    private final JdbcClient jdbc;
+    private final Set<String> enabled;
+
+    public JdbcReadRepo(DataSource dataSource,
+                        @Value("${tribenet.jdbc-reads.queries:}") Set<String> enabled,
+                        @Value("${tribenet.jdbc-reads.fetch-size:500}") int fetchSize) {
+        JdbcTemplate template = new SqlMetricsJdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbc = JdbcClient.create(template);
+        this.enabled = Set.copyOf(enabled);
+    }
+
+    public boolean serves(String read) {
+        return enabled.contains(read);
+    }
+
+    public List<MemberResponseDTO> findMembersByClubId(Long clubId) {
+        return jdbc.sql(MEMBERS_BY_CLUB)
+                .param(clubId)
+                .query((rs, row) -> new MemberResponseDTO(
+                        rs.getLong(1),
+                        rs.getString(2),
+                        rs.getString(3),
+                        rs.getString(4),
+                        rs.getString(5),
+                        rs.getObject(6, LocalDateTime.class)))
+                .list();
+    }
+
+    public List<UserResponseDTO> findUsersExcept(Long userId) {
+        return jdbc.sql(USERS_EXCEPT)
+                .param(userId)
+                .query((rs, row) -> new UserResponseDTO(
+                        rs.getLong(1),
+                        rs.getString(2),
+                        rs.getString(3),
+                        rs.getString(4),
+                        rs.getString(5)))
+                .list();
+    }
+
+    public List<PaymentResponse> findPaymentsByUserId(Long userId) {
+        return jdbc.sql(PAYMENTS_BY_USER)
+                .param(userId)
+                .query((rs, row) -> new PaymentResponse(
+                        rs.getLong(1),
+                        rs.getString(2),
+                        rs.getString(3),
+                        rs.getBigDecimal(4),
+                        rs.getString(5),
+                        rs.getString(6),
+                        rs.getObject(7, LocalDateTime.class)))
+                .list();
+    }
+}
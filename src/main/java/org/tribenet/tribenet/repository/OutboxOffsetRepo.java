@@ -0,0 +1,20 @@
+package org.tribenet.tribenet.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.tribenet.tribenet.model.OutboxOffset;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface OutboxOffsetRepo extends JpaRepository<OutboxOffset, String> {
+
+    @Query(value = "SELECT * FROM outbox_offsets WHERE handler = :handler FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<OutboxOffset> claim(@Param("handler") String handler);
+
+    @Query("SELECT MIN(o.lastEventId) FROM OutboxOffset o WHERE o.handler IN :handlers")
+    Long findMinOffset(@Param("handlers") Collection<String> handlers);
+}
@@ -11,4 +11,6 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByUserId(Long userId);
 
     Optional<Payment> findByOrderId(String orderId);
+
+    boolean existsByUserId(Long userId);
 }
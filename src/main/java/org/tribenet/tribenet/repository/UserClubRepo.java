@@ -1,13 +1,23 @@
 package org.tribenet.tribenet.repository;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.tribenet.tribenet.model.UserClub;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface UserClubRepo extends JpaRepository<UserClub, Long> {
@@ -15,12 +25,47 @@ public interface UserClubRepo extends JpaRepository<UserClub, Long> {
     @Query("SELECT uc FROM UserClub uc WHERE uc.user.id = :userId AND uc.club.id = :clubId")
     Optional<UserClub> findByUserIdAndClubId(@Param("userId") Long userId, @Param("clubId") Long clubId);
 
-    @Query("SELECT uc FROM UserClub uc WHERE uc.club.id = :clubId")
+    @EntityGraph(UserClub.MEMBER_LISTING)
+    @Query("SELECT uc FROM UserClub uc WHERE uc.club.id = :clubId AND uc.user.deletedAt IS NULL")
     List<UserClub> findByClubId(@Param("clubId") Long clubId);
 
-    @Query("SELECT COUNT(uc) FROM UserClub uc WHERE uc.club.id = :clubId")
+    @Query("SELECT COUNT(uc) FROM UserClub uc WHERE uc.club.id = :clubId AND uc.user.deletedAt IS NULL")
     Integer countByClubId(@Param("clubId") Long clubId);
 
-    @Query("SELECT uc FROM UserClub uc WHERE uc.club.id = :clubId AND uc.clubRole = 'ADMIN'")
+    @Query("SELECT uc.club.id AS clubId, COUNT(uc) AS memberCount FROM UserClub uc " +
+            "WHERE uc.club.id IN :clubIds AND uc.user.deletedAt IS NULL GROUP BY uc.club.id")
+    List<ClubMemberCount> countByClubIds(@Param("clubIds") Collection<Long> clubIds);
+
+    @Query("SELECT uc FROM UserClub uc WHERE uc.club.id = :clubId AND uc.clubRole = 'ADMIN' AND uc.user.deletedAt IS NULL")
     List<UserClub> findAdminsByClubId(@Param("clubId") Long clubId);
+
+    @EntityGraph(UserClub.MEMBER_LISTING)
+    @Query("SELECT uc FROM UserClub uc " +
+            "WHERE uc.club.id = :clubId AND uc.clubRole = 'ADMIN' AND uc.user.deletedAt IS NULL ORDER BY uc.joinedAt")
+    List<UserClub> findAdminsWithUserByClubId(@Param("clubId") Long clubId);
+
+    @EntityGraph(UserClub.MEMBER_LISTING)
+    @Query("SELECT uc FROM UserClub uc " +
+            "WHERE uc.club.id = :clubId AND uc.user.deletedAt IS NULL ORDER BY uc.joinedAt DESC, uc.id DESC")
+    List<UserClub> findRecentByClubId(@Param("clubId") Long clubId, Limit limit);
+
+    @EntityGraph(UserClub.USER_CLUBS)
+    @Query("SELECT uc FROM UserClub uc WHERE uc.user.id = :userId AND uc.club.deletedAt IS NULL")
+    List<UserClub> findActiveByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT uc.club.id FROM UserClub uc WHERE uc.user.id = :userId")
+    List<Long> findClubIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT uc.user.id AS userId, uc.club.id AS clubId FROM UserClub uc " +
+            "WHERE uc.user.deletedAt IS NULL AND uc.club.deletedAt IS NULL")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<MembershipIds> streamAllMembershipIds();
+
+    @Modifying
+    @Query(value = "DELETE FROM user_club WHERE club_id = :clubId LIMIT :limit", nativeQuery = true)
+    int deleteChunkByClubId(@Param("clubId") Long clubId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_club WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("limit") int limit);
 }
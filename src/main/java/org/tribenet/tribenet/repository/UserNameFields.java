@@ -0,0 +1,9 @@
+package org.tribenet.tribenet.repository;
+
+public interface UserNameFields {
+    Long getId();
+
+    String getUsername();
+
+    String getName();
+}
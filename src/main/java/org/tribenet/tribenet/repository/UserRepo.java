@@ -1,11 +1,18 @@
 package org.tribenet.tribenet.repository;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.tribenet.tribenet.model.User;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 
 @Repository
@@ -14,4 +21,22 @@ public interface UserRepo extends JpaRepository<User, Long> {
 
     @Query("SELECT u FROM User u WHERE u.id != :userId")
     List<User> findAllExceptUserId(@Param("userId") Long userId);
+
+    @Query("SELECT u.id AS id, u.username AS username, u.name AS name FROM User u")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<UserNameFields> streamAllNameFields();
+
+    @Query(value = "SELECT id FROM users WHERE deleted_at IS NOT NULL AND purged_at IS NULL ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findDeletedUnpurgedIds(@Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id = :userId AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purgeDeleted(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "UPDATE users SET purged_at = CURRENT_TIMESTAMP, username = :tombstone, "
+            + "email = CONCAT(:tombstone, '@deleted.invalid') WHERE id = :userId AND deleted_at IS NOT NULL",
+            nativeQuery = true)
+    int markPurged(@Param("userId") Long userId, @Param("tombstone") String tombstone);
 }
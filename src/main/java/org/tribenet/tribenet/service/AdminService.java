@@ -1,29 +1,46 @@
 package org.tribenet.tribenet.service;
 
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.tribenet.tribenet.dto.UserResponseDTO;
+import org.tribenet.tribenet.event.ClubDeletedEvent;
+import org.tribenet.tribenet.event.UserDeletedEvent;
 import org.tribenet.tribenet.exception.ResourceNotFoundException;
 import org.tribenet.tribenet.exception.UnauthorizedException;
+import org.tribenet.tribenet.model.AuditAction;
+import org.tribenet.tribenet.model.Club;
 import org.tribenet.tribenet.model.Role;
 import org.tribenet.tribenet.model.User;
 import org.tribenet.tribenet.repository.ClubRepo;
+import org.tribenet.tribenet.repository.UserClubRepo;
 import org.tribenet.tribenet.repository.UserRepo;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("tribenet.service")
 public class AdminService {
 
     private final UserRepo userRepo;
     private final ClubRepo clubRepo;
+    private final UserClubRepo userClubRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLog auditLog;
 
-    public AdminService(UserRepo userRepo, ClubRepo clubRepo) {
+    public AdminService(UserRepo userRepo, ClubRepo clubRepo, UserClubRepo userClubRepo,
+                        ApplicationEventPublisher eventPublisher, AuditLog auditLog) {
         this.userRepo = userRepo;
         this.clubRepo = clubRepo;
+        this.userClubRepo = userClubRepo;
+        this.eventPublisher = eventPublisher;
+        this.auditLog = auditLog;
     }
 
+    @Transactional(readOnly = true)
     public List<UserResponseDTO> getAllUsersAdmin(User currentUser) {
         if (currentUser.getRole() != Role.ADMIN) {
             throw new UnauthorizedException("Only system administrators can access this resource");
@@ -47,7 +64,11 @@ public class AdminService {
             throw new UnauthorizedException("Cannot delete your own account");
         }
 
-        userRepo.delete(user);
+        List<Long> clubIds = userClubRepo.findClubIdsByUserId(userId);
+        user.setDeletedAt(LocalDateTime.now());
+        userRepo.save(user);
+        eventPublisher.publishEvent(new UserDeletedEvent(userId, user.getUsername(), clubIds));
+        auditLog.record(AuditAction.USER_DELETED, currentUser.getId(), userId, null);
     }
 
     @Transactional
@@ -56,11 +77,13 @@ public class AdminService {
             throw new UnauthorizedException("Only system administrators can force delete clubs");
         }
 
-        if (!clubRepo.existsById(clubId)) {
-            throw new ResourceNotFoundException("Club not found with id: " + clubId);
-        }
+        Club club = clubRepo.findById(clubId)
+                .orElseThrow(() -> new ResourceNotFoundException("Club not found with id: " + clubId));
 
-        clubRepo.deleteById(clubId);
+        club.setDeletedAt(LocalDateTime.now());
+        clubRepo.save(club);
+        eventPublisher.publishEvent(new ClubDeletedEvent(clubId));
+        auditLog.record(AuditAction.CLUB_DELETED, currentUser.getId(), null, clubId);
     }
 
     private UserResponseDTO convertToUserResponseDTO(User user) {
@@ -0,0 +1,374 @@
+package org.tribenet.tribenet.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tribenet.tribenet.model.AuditAction;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of admin and membership actions, written to {@code audit_log}
+ * off the request thread. Records go into a pre-allocated ring of mutable
+ * slots: a producer claims a sequence with a CAS, fills the slot's primitive
+ * fields and publishes it by storing the sequence, so enqueueing allocates
+ * nothing and takes no lock. A single writer thread inserts published slots
+ * in JDBC batches of up to {@code batch-size} and only then frees them. A
+ * batch the database rejects {@code max-attempts} times in a row is split in
+ * half, and a single record that is still rejected is dead-lettered: logged at
+ * ERROR, counted and skipped, so one bad row cannot stall the ring. Connection
+ * and other transient failures are retried every {@code retry-backoff-ms} for
+ * as long as they last; nothing is dead-lettered because the database is
+ * unreachable, the ring fills instead and the backpressure policy applies.
+ * <p>
+ * When the ring is full, {@code backpressure=DROP} (the default) discards the
+ * record at once and {@code BLOCK} makes the producer wait up to
+ * {@code block-timeout-ms} for space; either way dropped records are counted.
+ * BLOCK runs on the caller's thread after its transaction has committed, so
+ * while the writer is behind, e.g. during a database outage, each audited
+ * mutation takes up to that much longer to return.
+ * <p>
+ * Records made inside a transaction are held in a per-thread buffer that is
+ * registered once per transaction and reused, and are enqueued after commit.
+ * Pending records are flushed on shutdown.
+ */
+@Service
+public class AuditLog {
+
+    public enum Backpressure {
+        BLOCK,
+        DROP
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    private static final String INSERT =
+            "INSERT INTO audit_log (action, actor_id, user_id, club_id, occurred_at) VALUES (?, ?, ?, ?, ?)";
+    private static final long NONE = 0;
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+    private final Backpressure backpressure;
+    private final long blockTimeoutNanos;
+    private final long flushIntervalNanos;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffNanos;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter deadLettered;
+    private final ThreadLocal<Pending> spare = ThreadLocal.withInitial(() -> new Pending());
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public AuditLog(DataSource dataSource,
+                    PlatformTransactionManager transactionManager,
+                    MeterRegistry meterRegistry,
+                    @Value("${tribenet.audit.capacity:8192}") int capacity,
+                    @Value("${tribenet.audit.batch-size:500}") int batchSize,
+                    @Value("${tribenet.audit.flush-interval-ms:100}") long flushIntervalMillis,
+                    @Value("${tribenet.audit.backpressure:DROP}") Backpressure backpressure,
+                    @Value("${tribenet.audit.block-timeout-ms:1000}") long blockTimeoutMillis,
+                    @Value("${tribenet.audit.max-attempts:3}") int maxAttempts,
+                    @Value("${tribenet.audit.retry-backoff-ms:1000}") long retryBackoffMillis) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("tribenet.audit.capacity must be a power of two: " + capacity);
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("tribenet.audit.max-attempts must be at least 1: " + maxAttempts);
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.backpressure = backpressure;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.batchSize = Math.min(batchSize, capacity);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffNanos = TimeUnit.MILLISECONDS.toNanos(retryBackoffMillis);
+        this.written = Counter.builder("tribenet.audit.written").register(meterRegistry);
+        this.dropped = Counter.builder("tribenet.audit.dropped").register(meterRegistry);
+        this.deadLettered = Counter.builder("tribenet.audit.dead-lettered").register(meterRegistry);
+        Gauge.builder("tribenet.audit.pending", this, AuditLog::pending).register(meterRegistry);
+        this.writer = Thread.ofPlatform().name("audit-writer").daemon(true).start(this::drain);
+    }
+
+    /**
+     * Records {@code action} by {@code actorId} on a user and/or club; pass
+     * {@code null} for any of them that does not apply, such as the actor of a
+     * system action.
+     */
+    public void record(AuditAction action, Long actorId, Long userId, Long clubId) {
+        long occurredAt = System.currentTimeMillis();
+        long actor = actorId != null ? actorId : NONE;
+        long user = userId != null ? userId : NONE;
+        long club = clubId != null ? clubId : NONE;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(action, actor, user, club, occurredAt);
+            return;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = spare.get();
+            if (pending.bound) {
+                // Still held by a transaction suspended on this thread
+                pending = new Pending();
+            }
+            pending.bound = true;
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(action, actor, user, club, occurredAt);
+    }
+
+    /** Publishes one record into the ring; returns {@code false} if it was dropped. */
+    boolean enqueue(AuditAction action, long actorId, long userId, long clubId, long occurredAt) {
+        long sequence = claim();
+        if (sequence < 0) {
+            dropped.increment();
+            return false;
+        }
+        Slot slot = slots[(int) sequence & mask];
+        slot.action = action;
+        slot.actorId = actorId;
+        slot.userId = userId;
+        slot.clubId = clubId;
+        slot.occurredAt = occurredAt;
+        slot.published = sequence;
+        return true;
+    }
+
+    public long pending() {
+        return claimed.get() - consumed.get();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        long lost = pending();
+        if (lost > 0) {
+            log.warn("Audit log shut down with {} records not written", lost);
+        }
+    }
+
+    private long claim() {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        while (running) {
+            long sequence = claimed.get();
+            if (sequence - consumed.get() < slots.length) {
+                if (claimed.compareAndSet(sequence, sequence + 1)) {
+                    return sequence;
+                }
+                continue;
+            }
+            if (backpressure == Backpressure.DROP) {
+                return -1;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                return -1;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+        return -1;
+    }
+
+    private void drain() {
+        int limit = batchSize;
+        int attempts = 0;
+        long splitUntil = 0;
+        while (true) {
+            long next = consumed.get();
+            if (next - splitUntil >= 0) {
+                limit = batchSize;
+            }
+            int count = 0;
+            while (count < limit && slots[(int) (next + count) & mask].published == next + count) {
+                count++;
+            }
+            if (count == 0) {
+                if (!running && claimed.get() == next) {
+                    return;
+                }
+                LockSupport.parkNanos(flushIntervalNanos);
+                continue;
+            }
+            Outcome outcome = write(next, count, attempts + 1);
+            if (outcome == Outcome.WRITTEN) {
+                consumed.set(next + count);
+                written.increment(count);
+                attempts = 0;
+            } else if (!running) {
+                return;
+            } else if (outcome == Outcome.UNAVAILABLE) {
+                attempts = 0;
+                LockSupport.parkNanos(retryBackoffNanos);
+            } else if (++attempts < maxAttempts) {
+                LockSupport.parkNanos(retryBackoffNanos);
+            } else if (count > 1) {
+                // Narrow down the record that fails; batches go back to full size past this one
+                limit = count / 2;
+                splitUntil = next + count;
+                attempts = 0;
+            } else {
+                deadLetter(next);
+                consumed.set(next + 1);
+                attempts = 0;
+            }
+        }
+    }
+
+    private void deadLetter(long sequence) {
+        Slot slot = slots[(int) sequence & mask];
+        log.error("Audit record dead-lettered after {} rejected attempts: action={} actor={} user={} club={} at={}",
+                maxAttempts, slot.action, slot.actorId, slot.userId, slot.clubId, slot.occurredAt);
+        deadLettered.increment();
+    }
+
+    private Outcome write(long from, int count, int attempt) {
+        try {
+            transaction.executeWithoutResult(status -> jdbc.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Slot slot = slots[(int) (from + i) & mask];
+                    ps.setString(1, slot.action.name());
+                    setOptional(ps, 2, slot.actorId);
+                    setOptional(ps, 3, slot.userId);
+                    setOptional(ps, 4, slot.clubId);
+                    ps.setTimestamp(5, new Timestamp(slot.occurredAt));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return count;
+                }
+            }));
+            return Outcome.WRITTEN;
+        } catch (NonTransientDataAccessException e) {
+            if (e instanceof DataAccessResourceFailureException) {
+                log.warn("Writing {} audit records failed, retrying", count, e);
+                return Outcome.UNAVAILABLE;
+            }
+            log.warn("Writing {} audit records was rejected (attempt {} of {})", count, attempt, maxAttempts, e);
+            return Outcome.REJECTED;
+        } catch (RuntimeException e) {
+            log.warn("Writing {} audit records failed, retrying", count, e);
+            return Outcome.UNAVAILABLE;
+        }
+    }
+
+    private static void setOptional(PreparedStatement ps, int index, long value) throws SQLException {
+        if (value == NONE) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    /**
+     * Records made in the current transaction, bound to it as a resource and
+     * enqueued on commit. Each thread reuses one instance, so recording inside
+     * a transaction allocates nothing once the arrays have grown.
+     */
+    private final class Pending implements TransactionSynchronization {
+        private AuditAction[] actions = new AuditAction[4];
+        private long[] actorIds = new long[4];
+        private long[] userIds = new long[4];
+        private long[] clubIds = new long[4];
+        private long[] occurredAts = new long[4];
+        private int size;
+        private boolean bound;
+
+        private void add(AuditAction action, long actorId, long userId, long clubId, long occurredAt) {
+            if (size == actions.length) {
+                actions = Arrays.copyOf(actions, size * 2);
+                actorIds = Arrays.copyOf(actorIds, size * 2);
+                userIds = Arrays.copyOf(userIds, size * 2);
+                clubIds = Arrays.copyOf(clubIds, size * 2);
+                occurredAts = Arrays.copyOf(occurredAts, size * 2);
+            }
+            actions[size] = action;
+            actorIds[size] = actorId;
+            userIds[size] = userId;
+            clubIds[size] = clubId;
+            occurredAts[size] = occurredAt;
+            size++;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(AuditLog.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(AuditLog.this, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            for (int i = 0; i < size; i++) {
+                enqueue(actions[i], actorIds[i], userIds[i], clubIds[i], occurredAts[i]);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AuditLog.this);
+            Arrays.fill(actions, 0, size, null);
+            size = 0;
+            bound = false;
+        }
+    }
+
+    private enum Outcome {
+        WRITTEN,
+        /** The database refused the batch itself, e.g. a constraint violation. */
+        REJECTED,
+        /** The database could not be reached or the failure may pass on its own. */
+        UNAVAILABLE
+    }
+
+    /** One ring entry; fields are written before {@code published} and read after it. */
+    private static final class Slot {
+        private volatile long published = -1;
+        private AuditAction action;
+        private long actorId;
+        private long userId;
+        private long clubId;
+        private long occurredAt;
+    }
+}
@@ -1,5 +1,6 @@
 package org.tribenet.tribenet.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.tribenet.tribenet.dto.AuthResponseDTO;
 import org.tribenet.tribenet.dto.LoginDTO;
 import org.tribenet.tribenet.dto.RegisterDTO;
+import org.tribenet.tribenet.event.UserRegisteredEvent;
 import org.tribenet.tribenet.model.Role;
 import org.tribenet.tribenet.model.User;
 import org.tribenet.tribenet.repository.UserRepo;
@@ -27,19 +29,24 @@ public class AuthService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    AuthService(UserRepo repo, PasswordEncoder encoder, JwtUtil jwtUtil, AuthenticationManager authenticationManager, UserService userService){
+    AuthService(UserRepo repo, PasswordEncoder encoder, JwtUtil jwtUtil, AuthenticationManager authenticationManager,
+                UserService userService, ApplicationEventPublisher eventPublisher){
         this.repo = repo;
         this.encoder = encoder;
         this.jwtUtil = jwtUtil;
         this.authenticationManager = authenticationManager;
         this.userService = userService;
+        this.eventPublisher = eventPublisher;
     }
 
     public ResponseEntity<?> registerUser(RegisterDTO dto) {
         try {
             User user = convertRegisterDTOToEntity(dto);
             User registeredUser = repo.save(user);
+            eventPublisher.publishEvent(new UserRegisteredEvent(
+                    registeredUser.getId(), registeredUser.getUsername(), registeredUser.getName()));
             return ResponseEntity.ok(Map.of(
                     "message", "User registered successfully",
                     "username", registeredUser.getUsername()
@@ -0,0 +1,229 @@
+package org.tribenet.tribenet.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tribenet.tribenet.model.CacheChange;
+import org.tribenet.tribenet.repository.CacheChangeRepo;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Cross-node cache invalidation through the {@code cache_changes} table. A
+ * mutation records the cache entry it makes stale in its own transaction and
+ * evicts it locally after commit; every node tails the table from a single id
+ * cursor and evicts the same entries. Ids that are not yet visible may belong
+ * to transactions still in flight, so they hold the cursor back (rows after
+ * them are re-read and re-evicted) for {@code gap-timeout-ms}, timed on this
+ * node's clock from when it first saw the gap. The cursor then moves on and the
+ * missing ids are looked up again on every poll; one that turns up is evicted
+ * then, so an entry is stale for at most one poll interval after its change
+ * commits. An id still missing after {@code gap-expiry-ms} is taken to be a
+ * rollback and forgotten; a change that commits later than that is only
+ * caught by the cache's own expiry. If tailing keeps failing for longer than
+ * {@code max-staleness-ms}, all caches are cleared on every poll instead.
+ * <p>
+ * State held outside the {@link CacheManager} can {@link #subscribe} to a
+ * channel name and is notified wherever a cache entry would be evicted.
+ */
+@Service
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final int MAX_SKIPPED_IDS = 1_000;
+
+    private final CacheChangeRepo cacheChangeRepo;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final long gapTimeoutMillis;
+    private final long gapExpiryMillis;
+    private final long maxStalenessMillis;
+    private final long retentionMinutes;
+    private final Counter evictions;
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+    /** Ids the cursor moved past before they were visible, with the time they were skipped. */
+    private final Map<Long, Long> skipped = new HashMap<>();
+
+    private long cursor;
+    private long gapSeenAt;
+    private volatile long lastSuccessfulPoll = System.currentTimeMillis();
+    private volatile boolean started;
+
+    public CacheInvalidationBus(CacheChangeRepo cacheChangeRepo,
+                                CacheManager cacheManager,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${tribenet.cache.invalidation.batch-size:500}") int batchSize,
+                                @Value("${tribenet.cache.invalidation.gap-timeout-ms:5000}") long gapTimeoutMillis,
+                                @Value("${tribenet.cache.invalidation.gap-expiry-ms:600000}") long gapExpiryMillis,
+                                @Value("${tribenet.cache.invalidation.max-staleness-ms:15000}") long maxStalenessMillis,
+                                @Value("${tribenet.cache.invalidation.retention-minutes:60}") long retentionMinutes) {
+        this.cacheChangeRepo = cacheChangeRepo;
+        this.cacheManager = cacheManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        this.gapExpiryMillis = gapExpiryMillis;
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.retentionMinutes = retentionMinutes;
+        this.evictions = Counter.builder("tribenet.cache.invalidation.evictions").register(meterRegistry);
+        Gauge.builder("tribenet.cache.invalidation.lag", this, bus -> System.currentTimeMillis() - bus.lastSuccessfulPoll)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public void invalidate(String cacheName, Object key) {
+        String cacheKey = String.valueOf(key);
+        CacheChange change = new CacheChange();
+        change.setCacheName(cacheName);
+        change.setCacheKey(cacheKey);
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            cacheChangeRepo.save(change);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictLocal(cacheName, cacheKey);
+                }
+            });
+        } else {
+            transaction.executeWithoutResult(status -> cacheChangeRepo.save(change));
+            evictLocal(cacheName, cacheKey);
+        }
+    }
+
+    /** Calls {@code listener} with the key of every invalidation on {@code channel}, or {@code null} when all are cleared. */
+    public void subscribe(String channel, Consumer<String> listener) {
+        subscribers.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        cursor = cacheChangeRepo.findMaxId();
+        gapSeenAt = 0;
+        skipped.clear();
+        lastSuccessfulPoll = System.currentTimeMillis();
+        started = true;
+    }
+
+    @Scheduled(fixedDelayString = "${tribenet.cache.invalidation.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        if (!started) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            if (!skipped.isEmpty()) {
+                recheckSkipped(now);
+            }
+            List<CacheChange> changes;
+            do {
+                long from = cursor;
+                changes = transaction.execute(status ->
+                        cacheChangeRepo.findByIdGreaterThanOrderByIdAsc(from, Limit.of(batchSize)));
+                boolean contiguous = true;
+                for (CacheChange change : changes) {
+                    evictLocal(change.getCacheName(), change.getCacheKey());
+                    if (!contiguous) {
+                        continue;
+                    }
+                    if (change.getId() != cursor + 1) {
+                        if (gapSeenAt == 0) {
+                            gapSeenAt = now;
+                        }
+                        if (now - gapSeenAt < gapTimeoutMillis) {
+                            contiguous = false;
+                            continue;
+                        }
+                        skip(cursor, change.getId(), now);
+                    }
+                    cursor = change.getId();
+                    gapSeenAt = 0;
+                }
+                if (!contiguous) {
+                    break;
+                }
+            } while (changes.size() == batchSize);
+            lastSuccessfulPoll = System.currentTimeMillis();
+        } catch (RuntimeException e) {
+            long lag = System.currentTimeMillis() - lastSuccessfulPoll;
+            log.warn("Cache invalidation poll failed ({} ms since last success)", lag, e);
+            if (lag > maxStalenessMillis) {
+                cacheManager.getCacheNames().forEach(name -> {
+                    Cache cache = cacheManager.getCache(name);
+                    if (cache != null) {
+                        cache.clear();
+                    }
+                });
+                subscribers.values().forEach(listeners -> listeners.forEach(listener -> listener.accept(null)));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tribenet.cache.invalidation.purge-interval-ms:600000}")
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now().minusMinutes(retentionMinutes);
+        transaction.executeWithoutResult(status -> cacheChangeRepo.deleteOlderThan(before));
+    }
+
+    /** Evicts the skipped changes that are now visible and forgets the ones past the expiry. */
+    private void recheckSkipped(long now) {
+        List<CacheChange> arrived = transaction.execute(status -> cacheChangeRepo.findAllById(skipped.keySet()));
+        for (CacheChange change : arrived) {
+            evictLocal(change.getCacheName(), change.getCacheKey());
+            skipped.remove(change.getId());
+        }
+        int before = skipped.size();
+        skipped.values().removeIf(skippedAt -> now - skippedAt > gapExpiryMillis);
+        if (skipped.size() < before) {
+            log.info("Cache invalidation gave up on {} ids that never appeared", before - skipped.size());
+        }
+    }
+
+    /** Remembers the ids strictly between {@code last} and {@code next} so they are checked again. */
+    private void skip(long last, long next, long now) {
+        for (long id = last + 1; id < next; id++) {
+            if (skipped.size() >= MAX_SKIPPED_IDS) {
+                log.warn("Cache invalidation tracks {} skipped ids already; not tracking ids {} to {}",
+                        MAX_SKIPPED_IDS, id, next - 1);
+                return;
+            }
+            skipped.put(id, now);
+        }
+    }
+
+    private void evictLocal(String cacheName, String cacheKey) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(cacheKey);
+            evictions.increment();
+        }
+        List<Consumer<String>> listeners = subscribers.get(cacheName);
+        if (listeners != null) {
+            listeners.forEach(listener -> listener.accept(cacheKey));
+            evictions.increment();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.tribenet.tribenet.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.tribenet.tribenet.config.CacheConfig;
+import org.tribenet.tribenet.event.ClubCreatedEvent;
+import org.tribenet.tribenet.event.ClubDeletedEvent;
+import org.tribenet.tribenet.event.ClubUpdatedEvent;
+import org.tribenet.tribenet.event.MembershipEvent;
+import org.tribenet.tribenet.event.MembershipEventType;
+import org.tribenet.tribenet.event.UserDeletedEvent;
+import org.tribenet.tribenet.event.UserRegisteredEvent;
+
+/**
+ * Maps domain events to the cache entries they make stale. Any change to a
+ * club or its member count also invalidates the club catalog. Runs synchronously
+ * in the publishing transaction so the change-log row commits with the mutation.
+ */
+@Component
+public class CacheInvalidationListener {
+
+    private static final String ALL = "all";
+
+    private final CacheInvalidationBus bus;
+
+    public CacheInvalidationListener(CacheInvalidationBus bus) {
+        this.bus = bus;
+    }
+
+    @EventListener
+    public void onClubCreated(ClubCreatedEvent event) {
+        bus.invalidate(CacheConfig.CLUB_CATALOG, ALL);
+    }
+
+    @EventListener
+    public void onClubUpdated(ClubUpdatedEvent event) {
+        bus.invalidate(CacheConfig.CLUB_DETAILS, event.clubId());
+        bus.invalidate(CacheConfig.CLUB_CATALOG, ALL);
+    }
+
+    @EventListener
+    public void onClubDeleted(ClubDeletedEvent event) {
+        bus.invalidate(CacheConfig.CLUB_DETAILS, event.clubId());
+        bus.invalidate(CacheConfig.CLUB_CATALOG, ALL);
+    }
+
+    @EventListener
+    public void onMembershipChanged(MembershipEvent event) {
+        bus.invalidate(CacheConfig.CLUB_DETAILS, event.clubId());
+        if (event.type() != MembershipEventType.PROMOTED) {
+            bus.invalidate(CacheConfig.CLUB_CATALOG, ALL);
+        }
+    }
+
+    @EventListener
+    public void onUserRegistered(UserRegisteredEvent event) {
+        bus.invalidate(CacheConfig.PRINCIPALS, event.username());
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        bus.invalidate(CacheConfig.PRINCIPALS, event.username());
+        for (Long clubId : event.clubIds()) {
+            bus.invalidate(CacheConfig.CLUB_DETAILS, clubId);
+        }
+        if (!event.clubIds().isEmpty()) {
+            bus.invalidate(CacheConfig.CLUB_CATALOG, ALL);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.tribenet.tribenet.service;
+
+import org.springframework.stereotype.Service;
+import org.tribenet.tribenet.config.CacheConfig;
+import org.tribenet.tribenet.config.ReplicaRoutingDataSource;
+import org.tribenet.tribenet.dto.ClubDetailDTO;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The club list as ready-to-send JSON and gzip bytes. The snapshot is tagged
+ * with a catalog version that the {@link CacheInvalidationBus} bumps on every
+ * club or membership change on any node; a request that finds the version moved
+ * rebuilds it once (concurrent requests share the rebuild). ETags are derived
+ * from the content, so every node hands out the same tag for the same catalog.
+ * The snapshot is read from the primary, since it is kept until the next change.
+ */
+@Service
+public class ClubCatalogService {
+
+    private final ClubService clubService;
+    private final JsonMapper jsonMapper;
+    private final SingleFlight singleFlight;
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    public ClubCatalogService(ClubService clubService, JsonMapper jsonMapper, SingleFlight singleFlight,
+                              CacheInvalidationBus cacheInvalidationBus) {
+        this.clubService = clubService;
+        this.jsonMapper = jsonMapper;
+        this.singleFlight = singleFlight;
+        cacheInvalidationBus.subscribe(CacheConfig.CLUB_CATALOG, key -> version.incrementAndGet());
+    }
+
+    public Snapshot getCatalog() {
+        long current = version.get();
+        Snapshot cached = snapshot;
+        if (cached != null && cached.version() == current) {
+            return cached;
+        }
+        return singleFlight.execute("club-catalog", current, () -> build(current));
+    }
+
+    private Snapshot build(long buildVersion) {
+        List<ClubDetailDTO> clubs = ReplicaRoutingDataSource.onPrimary(clubService::getAllClubs);
+        byte[] json = jsonMapper.writeValueAsBytes(clubs);
+        String hash = HexFormat.of().formatHex(Arrays.copyOf(sha256(json), 16));
+        Snapshot built = new Snapshot(buildVersion, "\"" + hash + "\"", json, "\"" + hash + "-gzip\"", gzip(json));
+        // a snapshot built from data read before a newer change must not replace it
+        if (version.get() == buildVersion) {
+            snapshot = built;
+        }
+        return built;
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public record Snapshot(long version, String etag, byte[] json, String gzipEtag, byte[] gzip) {
+    }
+}
@@ -0,0 +1,206 @@
+package org.tribenet.tribenet.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.tribenet.tribenet.dto.ClubEventDTO;
+import org.tribenet.tribenet.event.ClubDeletedEvent;
+import org.tribenet.tribenet.event.MembershipEvent;
+import org.tribenet.tribenet.exception.ResourceNotFoundException;
+import org.tribenet.tribenet.repository.ClubRepo;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed membership changes to SSE subscribers of a club. Publishing
+ * only enqueues into each subscriber's bounded queue; sends happen on virtual
+ * threads, one drain at a time per subscriber. A subscriber whose queue is full
+ * is too slow to keep up and is disconnected so it can reconnect and refetch.
+ * <p>
+ * Each event is serialized and rendered into an immutable SSE frame once, and
+ * that frame is what the queues share, so fan-out costs one JSON write however
+ * many subscribers a club has.
+ */
+@Service
+public class ClubEventStreamService {
+
+    private static final Set<DataWithMediaType> SUBSCRIBED = frame(SseEmitter.event().comment("subscribed"));
+    private static final Set<DataWithMediaType> PING = frame(SseEmitter.event().comment("ping"));
+
+    private final ClubRepo clubRepo;
+    private final JsonMapper jsonMapper;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter dropped;
+
+    public ClubEventStreamService(ClubRepo clubRepo, JsonMapper jsonMapper, MeterRegistry meterRegistry,
+                                  @Value("${tribenet.sse.timeout-ms:1800000}") long timeoutMillis,
+                                  @Value("${tribenet.sse.queue-capacity:256}") int queueCapacity) {
+        this.clubRepo = clubRepo;
+        this.jsonMapper = jsonMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.queueCapacity = queueCapacity;
+        Gauge.builder("tribenet.sse.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+        this.dropped = Counter.builder("tribenet.sse.dropped").register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long clubId) {
+        if (!clubRepo.existsById(clubId)) {
+            throw new ResourceNotFoundException("Club not found with id: " + clubId);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(clubId, emitter);
+        emitter.onCompletion(subscriber::unregister);
+        emitter.onTimeout(() -> {
+            subscriber.unregister();
+            emitter.complete();
+        });
+        emitter.onError(error -> subscriber.unregister());
+        subscribers.compute(clubId, (id, club) -> {
+            Set<Subscriber> set = club != null ? club : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        subscriberCount.incrementAndGet();
+        subscriber.offer(SUBSCRIBED);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onMembershipChanged(MembershipEvent event) {
+        int delta = switch (event.type()) {
+            case JOINED -> 1;
+            case LEFT, REMOVED -> -1;
+            case PROMOTED -> 0;
+        };
+        String name = event.type().name().toLowerCase();
+        publish(event.clubId(), name, new ClubEventDTO(event.clubId(), event.userId(), name, delta));
+    }
+
+    @TransactionalEventListener
+    public void onClubDeleted(ClubDeletedEvent event) {
+        publish(event.clubId(), "deleted", new ClubEventDTO(event.clubId(), null, "deleted", 0));
+        Set<Subscriber> club = subscribers.get(event.clubId());
+        if (club != null) {
+            club.forEach(Subscriber::closeAfterDrain);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tribenet.sse.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(club -> club.forEach(s -> s.offer(PING)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(club -> club.forEach(s -> s.emitter.complete()));
+        sender.shutdownNow();
+    }
+
+    private void publish(Long clubId, String name, ClubEventDTO payload) {
+        Set<Subscriber> club = subscribers.get(clubId);
+        if (club == null || club.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> event = frame(SseEmitter.event().name(name).data(jsonMapper.writeValueAsString(payload)));
+        club.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    /** Renders the builder once; it appends on every {@code build()}, so it must not be handed to the emitters. */
+    private static Set<DataWithMediaType> frame(SseEmitter.SseEventBuilder builder) {
+        return Collections.unmodifiableSet(builder.build());
+    }
+
+    private final class Subscriber {
+
+        private final Long clubId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean registered = new AtomicBoolean(true);
+        private volatile boolean closing;
+
+        Subscriber(Long clubId, SseEmitter emitter) {
+            this.clubId = clubId;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> event) {
+            if (closing || !registered.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                dropped.increment();
+                unregister();
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        void closeAfterDrain() {
+            closing = true;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> event;
+                while ((event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+                if (closing) {
+                    unregister();
+                    emitter.complete();
+                    return;
+                }
+            } catch (Exception e) {
+                unregister();
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void unregister() {
+            if (registered.compareAndSet(true, false)) {
+                subscriberCount.decrementAndGet();
+                subscribers.computeIfPresent(clubId, (id, club) -> {
+                    club.remove(this);
+                    return club.isEmpty() ? null : club;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package org.tribenet.tribenet.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tribenet.tribenet.dto.CategoryFacetDTO;
+import org.tribenet.tribenet.event.ClubCreatedEvent;
+import org.tribenet.tribenet.event.ClubDeletedEvent;
+import org.tribenet.tribenet.event.ClubUpdatedEvent;
+import org.tribenet.tribenet.event.MembershipEvent;
+import org.tribenet.tribenet.event.UserDeletedEvent;
+import org.tribenet.tribenet.repository.ClubRepo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Club and member counts per (category, free/paid), kept in {@link LongAdder}s
+ * and updated from committed club and membership events. Loaded from the
+ * primary at startup and periodically reloaded to correct drift.
+ * <p>
+ * Events keep being applied to the live counts while a reload streams the
+ * table, and are also journaled. Once the load finishes, the journal is
+ * replayed onto the loaded counts under the write lock, and only then are they
+ * compared and swapped in, so no event is lost. Club events are idempotent, so
+ * replaying one the snapshot already saw is harmless. A membership event whose
+ * transaction committed before the snapshot, but whose listener ran after the
+ * journal opened, is counted twice; that window is the gap between a commit and
+ * its after-commit listener, and the next check corrects it.
+ */
+@Service
+public class ClubFacetService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClubFacetService.class);
+
+    private final ClubRepo clubRepo;
+    private final TransactionTemplate primaryTransaction;
+    private final Counter driftCorrections;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile State state = new State(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    private volatile Queue<Consumer<State>> journal;
+
+    public ClubFacetService(ClubRepo clubRepo, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.clubRepo = clubRepo;
+        // Not read-only, so the reload runs on the primary rather than a possibly lagging replica.
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.driftCorrections = Counter.builder("tribenet.facets.drift.corrections").register(meterRegistry);
+    }
+
+    public List<CategoryFacetDTO> getFacets() {
+        Map<String, CategoryFacetDTO> byCategory = new HashMap<>();
+        state.facets().forEach((key, counters) -> {
+            long clubs = counters.clubs.sum();
+            if (clubs <= 0) {
+                return;
+            }
+            CategoryFacetDTO facet = byCategory.computeIfAbsent(key.category(),
+                    category -> new CategoryFacetDTO(category, 0L, 0L, 0L, 0L));
+            facet.setClubs(facet.getClubs() + clubs);
+            if (key.free()) {
+                facet.setFreeClubs(facet.getFreeClubs() + clubs);
+            } else {
+                facet.setPaidClubs(facet.getPaidClubs() + clubs);
+            }
+            facet.setMembers(facet.getMembers() + counters.members.sum());
+        });
+
+        List<CategoryFacetDTO> result = new ArrayList<>(byCategory.values());
+        result.sort(Comparator.comparing(CategoryFacetDTO::getClubs).reversed()
+                .thenComparing(CategoryFacetDTO::getCategory, Comparator.nullsLast(Comparator.naturalOrder())));
+        return result;
+    }
+
+    @TransactionalEventListener
+    public void onClubCreated(ClubCreatedEvent event) {
+        FacetKey key = new FacetKey(event.category(), event.free());
+        apply(current -> {
+            if (current.clubs().putIfAbsent(event.clubId(), new ClubFacet(key)) == null) {
+                current.counters(key).clubs.increment();
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onClubUpdated(ClubUpdatedEvent event) {
+        FacetKey to = new FacetKey(event.category(), event.free());
+        apply(current -> {
+            ClubFacet club = current.clubs().get(event.clubId());
+            if (club == null) {
+                return;
+            }
+            synchronized (club) {
+                if (club.key.equals(to)) {
+                    return;
+                }
+                Counters from = current.counters(club.key);
+                Counters into = current.counters(to);
+                from.clubs.decrement();
+                from.members.add(-club.members);
+                into.clubs.increment();
+                into.members.add(club.members);
+                club.key = to;
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onClubDeleted(ClubDeletedEvent event) {
+        apply(current -> {
+            ClubFacet club = current.clubs().remove(event.clubId());
+            if (club == null) {
+                return;
+            }
+            synchronized (club) {
+                Counters counters = current.counters(club.key);
+                counters.clubs.decrement();
+                counters.members.add(-club.members);
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onMembershipChanged(MembershipEvent event) {
+        switch (event.type()) {
+            case JOINED -> addMembers(event.clubId(), 1);
+            case LEFT, REMOVED -> addMembers(event.clubId(), -1);
+            case PROMOTED -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        apply(current -> {
+            for (Long clubId : event.clubIds()) {
+                addMembers(current, clubId, -1);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        reload();
+        State loaded = state;
+        log.info("Club facets loaded {} clubs in {} categories in {} ms",
+                loaded.clubs().size(), loaded.facets().size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** Reloads the counts and reports every facet on which memory had drifted from the database. */
+    @Scheduled(initialDelayString = "${tribenet.facets.drift-check-interval-ms:600000}",
+            fixedDelayString = "${tribenet.facets.drift-check-interval-ms:600000}")
+    public void checkDrift() {
+        List<String> drifted = reload();
+        if (!drifted.isEmpty()) {
+            log.warn("Club facet drift corrected: {}", drifted);
+            driftCorrections.increment(drifted.size());
+        }
+    }
+
+    /**
+     * Loads the counts while journaling concurrent events, replays the journal
+     * onto them and swaps them in; returns the facets that differed.
+     */
+    private synchronized List<String> reload() {
+        Queue<Consumer<State>> pending = new ConcurrentLinkedQueue<>();
+        setJournal(pending);
+        State loaded;
+        try {
+            loaded = load();
+        } catch (RuntimeException e) {
+            setJournal(null);
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            journal = null;
+            pending.forEach(change -> change.accept(loaded));
+            List<String> drifted = drift(state, loaded);
+            state = loaded;
+            return drifted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static List<String> drift(State current, State loaded) {
+        List<String> drifted = new ArrayList<>();
+        for (FacetKey key : union(current, loaded)) {
+            Counters expected = loaded.facets().get(key);
+            Counters actual = current.facets().get(key);
+            long expectedClubs = expected == null ? 0 : expected.clubs.sum();
+            long expectedMembers = expected == null ? 0 : expected.members.sum();
+            long actualClubs = actual == null ? 0 : actual.clubs.sum();
+            long actualMembers = actual == null ? 0 : actual.members.sum();
+            if (expectedClubs != actualClubs || expectedMembers != actualMembers) {
+                drifted.add(key + " clubs " + actualClubs + "->" + expectedClubs
+                        + " members " + actualMembers + "->" + expectedMembers);
+            }
+        }
+        return drifted;
+    }
+
+    /** Applies {@code change} to the live counts and, while a reload runs, journals it for the loaded ones. */
+    private void apply(Consumer<State> change) {
+        lock.readLock().lock();
+        try {
+            change.accept(state);
+            Queue<Consumer<State>> pending = journal;
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void setJournal(Queue<Consumer<State>> pending) {
+        lock.writeLock().lock();
+        try {
+            journal = pending;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addMembers(Long clubId, int delta) {
+        apply(current -> addMembers(current, clubId, delta));
+    }
+
+    private static void addMembers(State current, Long clubId, int delta) {
+        ClubFacet club = current.clubs().get(clubId);
+        if (club == null) {
+            return;
+        }
+        synchronized (club) {
+            club.members += delta;
+            current.counters(club.key).members.add(delta);
+        }
+    }
+
+    private State load() {
+        State loaded = new State(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        primaryTransaction.executeWithoutResult(status -> {
+            try (var rows = clubRepo.streamFacetRows()) {
+                rows.forEach(row -> {
+                    FacetKey key = new FacetKey(row.getCategory(), Boolean.TRUE.equals(row.getFree()));
+                    ClubFacet club = new ClubFacet(key);
+                    club.members = row.getMemberCount();
+                    loaded.clubs().put(row.getId(), club);
+                    Counters counters = loaded.counters(key);
+                    counters.clubs.increment();
+                    counters.members.add(club.members);
+                });
+            }
+        });
+        return loaded;
+    }
+
+    private static List<FacetKey> union(State a, State b) {
+        List<FacetKey> keys = new ArrayList<>(a.facets().keySet());
+        for (FacetKey key : b.facets().keySet()) {
+            if (!a.facets().containsKey(key)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private record FacetKey(String category, boolean free) {
+    }
+
+    private record State(Map<Long, ClubFacet> clubs, Map<FacetKey, Counters> facets) {
+        Counters counters(FacetKey key) {
+            return facets.computeIfAbsent(key, k -> new Counters());
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder clubs = new LongAdder();
+        private final LongAdder members = new LongAdder();
+    }
+
+    /** Facet and member count of one club, guarded by its own monitor. */
+    private static final class ClubFacet {
+        private FacetKey key;
+        private long members;
+
+        ClubFacet(FacetKey key) {
+            this.key = Objects.requireNonNull(key);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.tribenet.tribenet.service;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+import org.tribenet.tribenet.dto.RecommendedClubDTO;
+import org.tribenet.tribenet.model.Club;
+import org.tribenet.tribenet.repository.ClubRepo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ClubRecommendationService {
+
+    private static final int MAX_LIMIT = 50;
+    private static final int MAX_EXPANDED_NEIGHBOURS = 1_000;
+    private static final int SHORTLIST_FACTOR = 2;
+
+    private final MembershipIndex membershipIndex;
+    private final ClubRepo clubRepo;
+
+    public ClubRecommendationService(MembershipIndex membershipIndex, ClubRepo clubRepo) {
+        this.membershipIndex = membershipIndex;
+        this.clubRepo = clubRepo;
+    }
+
+    public List<RecommendedClubDTO> recommendClubs(Long userId, int limit) {
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<Candidate> candidates = membershipIndex.read(view -> topCandidates(view, MembershipIndex.toInt(userId), k));
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Club> clubs = clubRepo.findAllById(candidates.stream().map(c -> (long) c.clubId()).toList())
+                .stream()
+                .collect(Collectors.toMap(Club::getId, Function.identity()));
+
+        List<RecommendedClubDTO> result = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            Club club = clubs.get((long) candidate.clubId());
+            if (club != null) {
+                result.add(new RecommendedClubDTO(
+                        club.getId(),
+                        club.getName(),
+                        club.getDescription(),
+                        club.getCategory(),
+                        club.isFree(),
+                        club.getPrice(),
+                        candidate.memberCount(),
+                        candidate.sharedMembers(),
+                        candidate.score()
+                ));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Scores the clubs of the user's co-members by the Jaccard similarity between
+     * their members and the union of members of the user's clubs; clubs no
+     * co-member belongs to would score zero and are never looked at. The shared
+     * member count of each candidate is counted from the co-members' own club
+     * sets. Above {@value #MAX_EXPANDED_NEIGHBOURS} co-members, the counts come
+     * from that many picked evenly across the set and are scaled up, and only
+     * the best {@value #SHORTLIST_FACTOR} times {@code k} candidates are then
+     * scored exactly against the full set, so a user in a very large club costs
+     * about as much as any other. Users without clubs get the largest clubs
+     * instead.
+     */
+    private List<Candidate> topCandidates(MembershipIndex.View view, int userId, int k) {
+        RoaringBitmap myClubs = view.clubsOf(userId);
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(Candidate::score));
+
+        if (myClubs.isEmpty()) {
+            view.allClubs().forEach((clubId, members) ->
+                    offer(heap, k, new Candidate(clubId, members.getCardinality(), 0, members.getCardinality())));
+            return drain(heap);
+        }
+
+        List<RoaringBitmap> memberSets = new ArrayList<>(myClubs.getCardinality());
+        myClubs.forEach((int clubId) -> memberSets.add(view.membersOf(clubId)));
+        RoaringBitmap neighbours = FastAggregation.or(memberSets.iterator());
+        neighbours.remove(userId);
+        int neighbourCount = neighbours.getCardinality();
+        if (neighbourCount == 0) {
+            return List.of();
+        }
+
+        int[] coClubs = clubsOfNeighbours(view, neighbours, neighbourCount);
+        boolean sampled = neighbourCount > MAX_EXPANDED_NEIGHBOURS;
+        double scale = sampled ? (double) neighbourCount / MAX_EXPANDED_NEIGHBOURS : 1;
+        int keep = sampled ? k * SHORTLIST_FACTOR : k;
+        PriorityQueue<Candidate> estimates =
+                new PriorityQueue<>(keep + 1, Comparator.comparingDouble(Candidate::score));
+
+        Arrays.sort(coClubs);
+        for (int i = 0; i < coClubs.length; ) {
+            int clubId = coClubs[i];
+            int run = i;
+            while (i < coClubs.length && coClubs[i] == clubId) {
+                i++;
+            }
+            if (!myClubs.contains(clubId)) {
+                int size = view.memberCount(clubId);
+                int shared = (int) Math.min(Math.round((i - run) * scale), Math.min(size, neighbourCount));
+                offer(estimates, keep, new Candidate(clubId, size, shared, jaccard(shared, size, neighbourCount)));
+            }
+        }
+        if (!sampled) {
+            return drain(estimates);
+        }
+
+        for (Candidate estimate : estimates) {
+            int shared = RoaringBitmap.andCardinality(view.membersOf(estimate.clubId()), neighbours);
+            offer(heap, k, new Candidate(estimate.clubId(), estimate.memberCount(), shared,
+                    jaccard(shared, estimate.memberCount(), neighbourCount)));
+        }
+        return drain(heap);
+    }
+
+    /** Club ids of the co-members, or of an even sample of them, one entry per membership. */
+    private static int[] clubsOfNeighbours(MembershipIndex.View view, RoaringBitmap neighbours, int neighbourCount) {
+        int expanded = Math.min(neighbourCount, MAX_EXPANDED_NEIGHBOURS);
+        RoaringBitmap[] clubSets = new RoaringBitmap[expanded];
+        if (expanded == neighbourCount) {
+            IntIterator all = neighbours.getIntIterator();
+            for (int i = 0; i < expanded; i++) {
+                clubSets[i] = view.clubsOf(all.next());
+            }
+        } else {
+            double step = (double) neighbourCount / expanded;
+            for (int i = 0; i < expanded; i++) {
+                clubSets[i] = view.clubsOf(neighbours.select((int) (i * step)));
+            }
+        }
+
+        int total = 0;
+        for (RoaringBitmap clubs : clubSets) {
+            total += clubs.getCardinality();
+        }
+        int[] clubIds = new int[total];
+        int offset = 0;
+        for (RoaringBitmap clubs : clubSets) {
+            IntIterator ids = clubs.getIntIterator();
+            while (ids.hasNext()) {
+                clubIds[offset++] = ids.next();
+            }
+        }
+        return clubIds;
+    }
+
+    private static double jaccard(int shared, int size, int neighbourCount) {
+        return (double) shared / (size + neighbourCount - shared);
+    }
+
+    private static void offer(PriorityQueue<Candidate> heap, int k, Candidate candidate) {
+        if (heap.size() < k) {
+            heap.add(candidate);
+        } else if (candidate.score() > heap.peek().score()) {
+            heap.poll();
+            heap.add(candidate);
+        }
+    }
+
+    private static List<Candidate> drain(PriorityQueue<Candidate> heap) {
+        List<Candidate> ordered = new ArrayList<>(heap);
+        ordered.sort(Comparator.comparingDouble(Candidate::score).reversed());
+        return ordered;
+    }
+
+    private record Candidate(int clubId, int memberCount, int sharedMembers, double score) {
+    }
+}
@@ -1,32 +1,75 @@
 package org.tribenet.tribenet.service;
 
+import io.micrometer.core.annotation.Timed;
+import org.json.JSONObject;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.tribenet.tribenet.config.CacheConfig;
+import org.tribenet.tribenet.config.ReplicaRoutingDataSource;
 import org.tribenet.tribenet.dto.*;
+import org.tribenet.tribenet.event.ClubCreatedEvent;
+import org.tribenet.tribenet.event.ClubDeletedEvent;
+import org.tribenet.tribenet.event.ClubUpdatedEvent;
+import org.tribenet.tribenet.event.MembershipEvent;
+import org.tribenet.tribenet.event.MembershipEventType;
 import org.tribenet.tribenet.exception.BadRequestException;
 import org.tribenet.tribenet.exception.ResourceNotFoundException;
 import org.tribenet.tribenet.exception.UnauthorizedException;
+import org.tribenet.tribenet.model.AuditAction;
 import org.tribenet.tribenet.model.Club;
 import org.tribenet.tribenet.model.ClubRole;
 import org.tribenet.tribenet.model.Role;
 import org.tribenet.tribenet.model.User;
 import org.tribenet.tribenet.model.UserClub;
+import org.tribenet.tribenet.repository.ClubMemberCount;
 import org.tribenet.tribenet.repository.ClubRepo;
+import org.tribenet.tribenet.repository.JdbcReadRepo;
 import org.tribenet.tribenet.repository.UserClubRepo;
+import org.tribenet.tribenet.utility.BatchIds;
+import org.tribenet.tribenet.utility.Subtasks;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("tribenet.service")
 public class ClubService {
 
     private final ClubRepo clubRepo;
     private final UserClubRepo userClubRepo;
-
-    public ClubService(ClubRepo clubRepo, UserClubRepo userClubRepo) {
+    private final JdbcReadRepo jdbcReadRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxPublisher outboxPublisher;
+    private final AuditLog auditLog;
+    private final PlatformTransactionManager transactionManager;
+    private final Duration overviewTimeout;
+
+    public ClubService(ClubRepo clubRepo, UserClubRepo userClubRepo, JdbcReadRepo jdbcReadRepo,
+                       ApplicationEventPublisher eventPublisher, OutboxPublisher outboxPublisher,
+                       AuditLog auditLog, PlatformTransactionManager transactionManager,
+                       @Value("${tribenet.club-overview.timeout-ms:2000}") long overviewTimeoutMillis) {
         this.clubRepo = clubRepo;
         this.userClubRepo = userClubRepo;
+        this.jdbcReadRepo = jdbcReadRepo;
+        this.eventPublisher = eventPublisher;
+        this.outboxPublisher = outboxPublisher;
+        this.auditLog = auditLog;
+        this.transactionManager = transactionManager;
+        this.overviewTimeout = Duration.ofMillis(overviewTimeoutMillis);
     }
 
     @Transactional
@@ -40,6 +83,7 @@ public class ClubService {
         club.setCreator(creator);
 
         Club savedClub = clubRepo.save(club);
+        eventPublisher.publishEvent(new ClubCreatedEvent(savedClub.getId(), savedClub.getCategory(), savedClub.isFree()));
 
         UserClub membership = new UserClub();
         membership.setUser(creator);
@@ -47,20 +91,92 @@ public class ClubService {
         membership.setClubRole(ClubRole.ADMIN);
         membership.setJoinedAt(LocalDateTime.now());
         userClubRepo.save(membership);
+        membershipChanged(savedClub.getId(), creator.getId(), MembershipEventType.JOINED);
 
         return convertToClubDetailDTO(savedClub);
     }
 
+    @Transactional(readOnly = true)
     public List<ClubDetailDTO> getAllClubs() {
-        return clubRepo.findAll().stream()
-                .map(this::convertToClubDetailDTO)
+        List<Club> clubs = clubRepo.findAll();
+        Map<Long, Integer> memberCounts = countMembers(clubs.stream().map(Club::getId).toList());
+        return clubs.stream()
+                .map(club -> toClubDetailDTO(club, memberCounts.getOrDefault(club.getId(), 0)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Resolves up to {@link BatchIds#MAX_IDS} clubs with one lookup and one grouped
+     * member count, in the order requested. Unknown and deleted ids are reported
+     * in {@code missing}.
+     */
+    @Transactional(readOnly = true)
+    public BatchResponseDTO<ClubDetailDTO> getClubsByIds(List<Long> clubIds) {
+        Set<Long> ids = BatchIds.distinct(clubIds);
+        Map<Long, Club> clubs = new HashMap<>();
+        for (Club club : clubRepo.findAllById(ids)) {
+            clubs.put(club.getId(), club);
+        }
+        Map<Long, Integer> memberCounts = countMembers(clubs.keySet());
+        List<Long> missing = new ArrayList<>();
+        List<ClubDetailDTO> items = BatchIds.inOrder(ids, clubs,
+                club -> toClubDetailDTO(club, memberCounts.getOrDefault(club.getId(), 0)), missing);
+        return new BatchResponseDTO<>(items, missing);
+    }
+
+    /** The first {@code limit} clubs in catalog order, with member counts from one grouped query. */
+    @Transactional(readOnly = true)
+    public List<ClubDetailDTO> getFirstClubs(int limit) {
+        List<Club> clubs = clubRepo.findAllByOrderByIdAsc(Limit.of(limit));
+        Map<Long, Integer> memberCounts = countMembers(clubs.stream().map(Club::getId).toList());
+        return clubs.stream()
+                .map(club -> toClubDetailDTO(club, memberCounts.getOrDefault(club.getId(), 0)))
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public long countClubs() {
+        return clubRepo.count();
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CLUB_DETAILS, key = "#clubId.toString()")
     public ClubDetailDTO getClubById(Long clubId) {
-        Club club = clubRepo.findById(clubId)
-                .orElseThrow(() -> new ResourceNotFoundException("Club not found with id: " + clubId));
-        return convertToClubDetailDTO(club);
+        return ReplicaRoutingDataSource.onPrimary(() -> {
+            Club club = clubRepo.findById(clubId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Club not found with id: " + clubId));
+            return convertToClubDetailDTO(club);
+        });
+    }
+
+    /**
+     * Club details plus creator, admins and most recent members. The five reads
+     * are independent, so each runs concurrently in its own read-only
+     * transaction; latency is that of the slowest one. The overview deadline
+     * bounds both the wait and each statement, and a failure (such as an
+     * unknown club) cancels the reads still running.
+     */
+    public ClubOverviewDTO getClubOverview(Long clubId, int recentLimit) {
+        long deadline = System.nanoTime() + overviewTimeout.toNanos();
+        try (Subtasks scope = new Subtasks()) {
+            Subtasks.Subtask<Club> club = scope.fork(readOnly(deadline, () -> clubRepo.findById(clubId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Club not found with id: " + clubId))));
+            Subtasks.Subtask<Integer> memberCount = scope.fork(readOnly(deadline, () -> userClubRepo.countByClubId(clubId)));
+            Subtasks.Subtask<UserSuggestionDTO> creator = scope.fork(readOnly(deadline, () -> clubRepo.findCreatorByClubId(clubId)
+                    .map(row -> new UserSuggestionDTO(row.getId(), row.getUsername(), row.getName()))
+                    .orElse(null)));
+            Subtasks.Subtask<List<MemberResponseDTO>> admins = scope.fork(readOnly(deadline, () ->
+                    userClubRepo.findAdminsWithUserByClubId(clubId).stream()
+                            .map(this::convertToMemberResponseDTO)
+                            .collect(Collectors.toList())));
+            Subtasks.Subtask<List<MemberResponseDTO>> recent = scope.fork(readOnly(deadline, () ->
+                    userClubRepo.findRecentByClubId(clubId, Limit.of(recentLimit)).stream()
+                            .map(this::convertToMemberResponseDTO)
+                            .collect(Collectors.toList())));
+            scope.join(Duration.ofNanos(deadline - System.nanoTime()));
+
+            return new ClubOverviewDTO(toClubDetailDTO(club.get(), memberCount.get()), creator.get(),
+                    admins.get(), recent.get());
+        }
     }
 
     @Transactional
@@ -89,6 +205,7 @@ public class ClubService {
         }
 
         Club updatedClub = clubRepo.save(club);
+        eventPublisher.publishEvent(new ClubUpdatedEvent(clubId, updatedClub.getCategory(), updatedClub.isFree()));
         return convertToClubDetailDTO(updatedClub);
     }
 
@@ -101,7 +218,9 @@ public class ClubService {
             throw new UnauthorizedException("Only system administrators can delete clubs");
         }
 
-        clubRepo.delete(club);
+        club.setDeletedAt(LocalDateTime.now());
+        clubRepo.save(club);
+        eventPublisher.publishEvent(new ClubDeletedEvent(clubId));
     }
 
     @Transactional
@@ -119,6 +238,7 @@ public class ClubService {
         membership.setClubRole(ClubRole.MEMBER);
         membership.setJoinedAt(LocalDateTime.now());
         userClubRepo.save(membership);
+        membershipChanged(clubId, user.getId(), MembershipEventType.JOINED);
     }
 
     @Transactional
@@ -132,13 +252,18 @@ public class ClubService {
         }
 
         userClubRepo.delete(membership);
+        membershipChanged(clubId, user.getId(), MembershipEventType.LEFT);
     }
 
+    @Transactional(readOnly = true)
     public List<MemberResponseDTO> getClubMembers(Long clubId) {
         if (!clubRepo.existsById(clubId)) {
             throw new ResourceNotFoundException("Club not found with id: " + clubId);
         }
 
+        if (jdbcReadRepo.serves(JdbcReadRepo.MEMBERS)) {
+            return jdbcReadRepo.findMembersByClubId(clubId);
+        }
         return userClubRepo.findByClubId(clubId).stream()
                 .map(this::convertToMemberResponseDTO)
                 .collect(Collectors.toList());
@@ -159,6 +284,8 @@ public class ClubService {
 
         membership.setClubRole(ClubRole.ADMIN);
         userClubRepo.save(membership);
+        membershipChanged(clubId, userId, MembershipEventType.PROMOTED);
+        auditLog.record(AuditAction.MEMBER_PROMOTED, currentUser.getId(), userId, clubId);
     }
 
     @Transactional
@@ -182,6 +309,14 @@ public class ClubService {
         }
 
         userClubRepo.delete(membership);
+        membershipChanged(clubId, userId, MembershipEventType.REMOVED);
+        auditLog.record(AuditAction.MEMBER_REMOVED, currentUser.getId(), userId, clubId);
+    }
+
+    private void membershipChanged(Long clubId, Long userId, MembershipEventType type) {
+        outboxPublisher.append("club", clubId, "club.member." + type.name().toLowerCase(),
+                new JSONObject().put("clubId", clubId).put("userId", userId));
+        eventPublisher.publishEvent(new MembershipEvent(clubId, userId, type));
     }
 
     private boolean isUserClubAdmin(Long clubId, Long userId) {
@@ -190,8 +325,25 @@ public class ClubService {
                 .orElse(false);
     }
 
+    private <T> Callable<T> readOnly(long deadline, Supplier<T> query) {
+        return Subtasks.readOnly(transactionManager, deadline, query);
+    }
+
+    private Map<Long, Integer> countMembers(Collection<Long> clubIds) {
+        Map<Long, Integer> memberCounts = new HashMap<>();
+        if (!clubIds.isEmpty()) {
+            for (ClubMemberCount count : userClubRepo.countByClubIds(clubIds)) {
+                memberCounts.put(count.getClubId(), count.getMemberCount().intValue());
+            }
+        }
+        return memberCounts;
+    }
+
     private ClubDetailDTO convertToClubDetailDTO(Club club) {
-        Integer memberCount = userClubRepo.countByClubId(club.getId());
+        return toClubDetailDTO(club, userClubRepo.countByClubId(club.getId()));
+    }
+
+    private ClubDetailDTO toClubDetailDTO(Club club, Integer memberCount) {
         return new ClubDetailDTO(
                 club.getId(),
                 club.getName(),
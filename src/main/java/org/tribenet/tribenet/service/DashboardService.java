@@ -0,0 +1,58 @@
+package org.tribenet.tribenet.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.tribenet.tribenet.dto.ClubDetailDTO;
+import org.tribenet.tribenet.dto.ClubResponseDTO;
+import org.tribenet.tribenet.dto.DashboardDTO;
+import org.tribenet.tribenet.model.ClubRole;
+import org.tribenet.tribenet.utility.Subtasks;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Everything the UI needs for its first render, in one response. The user's
+ * clubs, the first catalog page and the club count are read concurrently, each
+ * in its own read-only transaction whose timeout ends at the dashboard deadline.
+ */
+@Service
+public class DashboardService {
+
+    private static final int MAX_CLUBS = 50;
+
+    private final UserService userService;
+    private final ClubService clubService;
+    private final PlatformTransactionManager transactionManager;
+    private final Duration timeout;
+
+    public DashboardService(UserService userService, ClubService clubService,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${tribenet.dashboard.timeout-ms:3000}") long timeoutMillis) {
+        this.userService = userService;
+        this.clubService = clubService;
+        this.transactionManager = transactionManager;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    public DashboardDTO getDashboard(Long userId, int limit) {
+        int clubLimit = Math.max(1, Math.min(limit, MAX_CLUBS));
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try (Subtasks scope = new Subtasks()) {
+            Subtasks.Subtask<List<ClubResponseDTO>> myClubs = scope.fork(Subtasks.readOnly(transactionManager, deadline,
+                    () -> userService.getUserClubs(userId).orElse(List.of())));
+            Subtasks.Subtask<List<ClubDetailDTO>> clubs = scope.fork(Subtasks.readOnly(transactionManager, deadline,
+                    () -> clubService.getFirstClubs(clubLimit)));
+            Subtasks.Subtask<Long> totalClubs = scope.fork(Subtasks.readOnly(transactionManager, deadline,
+                    clubService::countClubs));
+            scope.join(Duration.ofNanos(deadline - System.nanoTime()));
+
+            List<ClubResponseDTO> mine = myClubs.get();
+            int adminClubs = (int) mine.stream()
+                    .filter(club -> ClubRole.ADMIN.name().equals(club.getClubRole()))
+                    .count();
+            return new DashboardDTO(mine, clubs.get(), totalClubs.get(), mine.size(), adminClubs);
+        }
+    }
+}
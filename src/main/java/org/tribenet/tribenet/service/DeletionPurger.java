@@ -0,0 +1,149 @@
+package org.tribenet.tribenet.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tribenet.tribenet.repository.ClubRepo;
+import org.tribenet.tribenet.repository.PaymentRepository;
+import org.tribenet.tribenet.repository.UserClubRepo;
+import org.tribenet.tribenet.repository.UserRepo;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+
+/**
+ * Physically removes soft-deleted clubs and users. Memberships go first, in
+ * {@code DELETE ... LIMIT} chunks, each in its own short transaction, so no
+ * single statement holds locks on more than a chunk of rows. The deleted_at
+ * marker is the progress record: an interrupted purge resumes where it stopped
+ * on the next run. Users still referenced by payments or by clubs they created
+ * are kept as purged tombstones instead of being deleted; their username and
+ * email are replaced with random placeholders so both can be registered again.
+ * <p>
+ * A purge can take minutes and sleeps between chunks, so the schedule only hands
+ * it to the purger's own thread and never ties up the shared scheduler.
+ */
+@Service
+public class DeletionPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(DeletionPurger.class);
+    private static final int ENTITIES_PER_RUN = 20;
+
+    private final ClubRepo clubRepo;
+    private final UserRepo userRepo;
+    private final UserClubRepo userClubRepo;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transaction;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final long chunkPauseMillis;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("deletion-purger").factory());
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public DeletionPurger(ClubRepo clubRepo, UserRepo userRepo, UserClubRepo userClubRepo,
+                          PaymentRepository paymentRepository, PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${tribenet.purge.chunk-size:1000}") int chunkSize,
+                          @Value("${tribenet.purge.chunk-pause-ms:10}") long chunkPauseMillis) {
+        this.clubRepo = clubRepo;
+        this.userRepo = userRepo;
+        this.userClubRepo = userClubRepo;
+        this.paymentRepository = paymentRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.chunkPauseMillis = chunkPauseMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${tribenet.purge.interval-ms:10000}")
+    public void schedulePurge() {
+        if (running.compareAndSet(false, true)) {
+            worker.execute(() -> {
+                try {
+                    purge();
+                } catch (RuntimeException e) {
+                    log.warn("Purging deleted clubs and users failed", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        worker.shutdownNow();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    public void purge() {
+        for (Long clubId : clubRepo.findDeletedIds(ENTITIES_PER_RUN)) {
+            purgeClub(clubId);
+        }
+        for (Long userId : userRepo.findDeletedUnpurgedIds(ENTITIES_PER_RUN)) {
+            purgeUser(userId);
+        }
+    }
+
+    private void purgeClub(Long clubId) {
+        long memberships = deleteInChunks("club " + clubId,
+                () -> userClubRepo.deleteChunkByClubId(clubId, chunkSize));
+        Integer deleted = transaction.execute(status -> clubRepo.purgeDeleted(clubId));
+        count("clubs", deleted != null ? deleted : 0);
+        log.info("Purged club {} and {} memberships", clubId, memberships);
+    }
+
+    private void purgeUser(Long userId) {
+        long memberships = deleteInChunks("user " + userId,
+                () -> userClubRepo.deleteChunkByUserId(userId, chunkSize));
+        Boolean tombstone = transaction.execute(status -> {
+            if (paymentRepository.existsByUserId(userId) || clubRepo.countAllByCreatorId(userId) > 0) {
+                userRepo.markPurged(userId, "deleted-" + UUID.randomUUID());
+                return true;
+            }
+            count("users", userRepo.purgeDeleted(userId));
+            return false;
+        });
+        log.info("Purged user {} and {} memberships{}", userId, memberships,
+                Boolean.TRUE.equals(tombstone) ? "; kept as tombstone for payments/created clubs" : "");
+    }
+
+    private long deleteInChunks(String owner, IntSupplier deleteChunk) {
+        long total = 0;
+        while (true) {
+            Integer deleted = transaction.execute(status -> deleteChunk.getAsInt());
+            int rows = deleted != null ? deleted : 0;
+            total += rows;
+            count("user_club", rows);
+            if (rows < chunkSize) {
+                return total;
+            }
+            log.debug("Purging memberships of {}: {} rows so far", owner, total);
+            if (chunkPauseMillis > 0) {
+                try {
+                    Thread.sleep(chunkPauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return total;
+                }
+            }
+        }
+    }
+
+    private void count(String table, int rows) {
+        if (rows > 0) {
+            meterRegistry.counter("tribenet.purge.rows", "table", table).increment(rows);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.tribenet.tribenet.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.tribenet.tribenet.event.OutboxHandler;
+import org.tribenet.tribenet.model.OutboxEvent;
+
+@Component
+public class DomainEventCounterHandler implements OutboxHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    public DomainEventCounterHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String name() {
+        return "domain-event-counter";
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        meterRegistry.counter("tribenet.domain.events", "type", event.getEventType()).increment();
+    }
+}
@@ -0,0 +1,201 @@
+package org.tribenet.tribenet.service;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tribenet.tribenet.event.ClubDeletedEvent;
+import org.tribenet.tribenet.event.MembershipEvent;
+import org.tribenet.tribenet.event.UserDeletedEvent;
+import org.tribenet.tribenet.repository.UserClubRepo;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-memory copy of {@code user_club} as compressed bitmaps in both directions:
+ * the members of each club and the clubs of each user. Built once at startup and
+ * kept current from committed membership events, so set queries over memberships
+ * never have to touch the database.
+ */
+@Component
+public class MembershipIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MembershipIndex.class);
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final UserClubRepo userClubRepo;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<Integer, RoaringBitmap> clubMembers = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> userClubs = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> clubMembersView = Collections.unmodifiableMap(clubMembers);
+    // Member counts by club id, so ranking many clubs does not chase each club's bitmap
+    private int[] clubSizes = new int[0];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public MembershipIndex(UserClubRepo userClubRepo, PlatformTransactionManager transactionManager) {
+        this.userClubRepo = userClubRepo;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        long[] loaded = new long[1];
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (var rows = userClubRepo.streamAllMembershipIds()) {
+                rows.forEach(row -> {
+                    add(row.getUserId(), row.getClubId());
+                    loaded[0]++;
+                });
+            }
+        });
+        log.info("Membership index loaded {} memberships in {} ms", loaded[0], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onMembershipChanged(MembershipEvent event) {
+        switch (event.type()) {
+            case JOINED -> add(event.userId(), event.clubId());
+            case LEFT, REMOVED -> remove(event.userId(), event.clubId());
+            case PROMOTED -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onClubDeleted(ClubDeletedEvent event) {
+        int clubId = toInt(event.clubId());
+        lock.writeLock().lock();
+        try {
+            RoaringBitmap members = clubMembers.remove(clubId);
+            if (members != null) {
+                members.forEach((int userId) -> removeFrom(userClubs, userId, clubId));
+                clubSizes[clubId] = 0;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        int userId = toInt(event.userId());
+        lock.writeLock().lock();
+        try {
+            RoaringBitmap clubs = userClubs.remove(userId);
+            if (clubs != null) {
+                clubs.forEach((int clubId) -> {
+                    if (removeFrom(clubMembers, clubId, userId)) {
+                        clubSizes[clubId]--;
+                    }
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(Long userId, Long clubId) {
+        int user = toInt(userId);
+        int club = toInt(clubId);
+        lock.writeLock().lock();
+        try {
+            if (clubMembers.computeIfAbsent(club, id -> new RoaringBitmap()).checkedAdd(user)) {
+                userClubs.computeIfAbsent(user, id -> new RoaringBitmap()).add(club);
+                if (club >= clubSizes.length) {
+                    clubSizes = Arrays.copyOf(clubSizes, Math.max(club + 1, clubSizes.length * 2));
+                }
+                clubSizes[club]++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId, Long clubId) {
+        int user = toInt(userId);
+        int club = toInt(clubId);
+        lock.writeLock().lock();
+        try {
+            if (removeFrom(clubMembers, club, user)) {
+                clubSizes[club]--;
+            }
+            removeFrom(userClubs, user, club);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a query against a consistent view of the index. Bitmaps handed to the
+     * query must not be modified or kept after it returns.
+     */
+    public <T> T read(Function<View, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(view);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private final View view = new View() {
+        @Override
+        public RoaringBitmap membersOf(int clubId) {
+            return clubMembers.getOrDefault(clubId, EMPTY);
+        }
+
+        @Override
+        public RoaringBitmap clubsOf(int userId) {
+            return userClubs.getOrDefault(userId, EMPTY);
+        }
+
+        @Override
+        public int memberCount(int clubId) {
+            return clubId < clubSizes.length ? clubSizes[clubId] : 0;
+        }
+
+        @Override
+        public Map<Integer, RoaringBitmap> allClubs() {
+            return clubMembersView;
+        }
+    };
+
+    public interface View {
+        RoaringBitmap membersOf(int clubId);
+
+        RoaringBitmap clubsOf(int userId);
+
+        int memberCount(int clubId);
+
+        Map<Integer, RoaringBitmap> allClubs();
+    }
+
+    public static int toInt(Long id) {
+        return Math.toIntExact(id);
+    }
+
+    private static boolean removeFrom(Map<Integer, RoaringBitmap> index, int key, int value) {
+        RoaringBitmap bitmap = index.get(key);
+        if (bitmap == null || !bitmap.checkedRemove(value)) {
+            return false;
+        }
+        if (bitmap.isEmpty()) {
+            index.remove(key);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,85 @@
+package org.tribenet.tribenet.service;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+import org.tribenet.tribenet.dto.IntersectionResponseDTO;
+import org.tribenet.tribenet.exception.ResourceNotFoundException;
+import org.tribenet.tribenet.repository.ClubRepo;
+import org.tribenet.tribenet.repository.UserRepo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set intersections over the membership index. Counts use
+ * {@link RoaringBitmap#andCardinality} without materialising the result, and
+ * pages are keyset-paged on id so each call costs one bitmap AND plus at most
+ * {@code limit} iterations regardless of how deep the client has paged.
+ */
+@Service
+public class MembershipIntersectionService {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final MembershipIndex membershipIndex;
+    private final UserRepo userRepo;
+    private final ClubRepo clubRepo;
+
+    public MembershipIntersectionService(MembershipIndex membershipIndex, UserRepo userRepo, ClubRepo clubRepo) {
+        this.membershipIndex = membershipIndex;
+        this.userRepo = userRepo;
+        this.clubRepo = clubRepo;
+    }
+
+    public IntersectionResponseDTO getMutualClubs(Long userId, Long otherUserId, Long after, int limit) {
+        requireUser(userId);
+        requireUser(otherUserId);
+        int a = MembershipIndex.toInt(userId);
+        int b = MembershipIndex.toInt(otherUserId);
+        return membershipIndex.read(view -> intersect(view.clubsOf(a), view.clubsOf(b), after, limit));
+    }
+
+    public IntersectionResponseDTO getSharedMembers(Long clubId, Long otherClubId, Long after, int limit) {
+        requireClub(clubId);
+        requireClub(otherClubId);
+        int a = MembershipIndex.toInt(clubId);
+        int b = MembershipIndex.toInt(otherClubId);
+        return membershipIndex.read(view -> intersect(view.membersOf(a), view.membersOf(b), after, limit));
+    }
+
+    private static IntersectionResponseDTO intersect(RoaringBitmap left, RoaringBitmap right, Long after, int limit) {
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+        long count = RoaringBitmap.andCardinality(left, right);
+        if (count == 0) {
+            return new IntersectionResponseDTO(0L, List.of(), null);
+        }
+
+        PeekableIntIterator it = RoaringBitmap.and(left, right).getIntIterator();
+        if (after != null) {
+            if (after >= Integer.MAX_VALUE) {
+                return new IntersectionResponseDTO(count, List.of(), null);
+            }
+            it.advanceIfNeeded((int) Math.max(0, after + 1));
+        }
+
+        List<Long> ids = new ArrayList<>(Math.min(k, (int) count));
+        while (it.hasNext() && ids.size() < k) {
+            ids.add((long) it.next());
+        }
+        Long nextAfter = it.hasNext() ? ids.get(ids.size() - 1) : null;
+        return new IntersectionResponseDTO(count, ids, nextAfter);
+    }
+
+    private void requireUser(Long userId) {
+        if (!userRepo.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+    }
+
+    private void requireClub(Long clubId) {
+        if (!clubRepo.existsById(clubId)) {
+            throw new ResourceNotFoundException("Club not found with id: " + clubId);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package org.tribenet.tribenet.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tribenet.tribenet.event.OutboxHandler;
+import org.tribenet.tribenet.model.OutboxEvent;
+import org.tribenet.tribenet.model.OutboxOffset;
+import org.tribenet.tribenet.repository.OutboxEventRepo;
+import org.tribenet.tribenet.repository.OutboxOffsetRepo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers {@code outbox_events} to every {@link OutboxHandler} bean. Each
+ * handler's offset row is claimed with {@code FOR UPDATE SKIP LOCKED}, so across
+ * nodes exactly one worker advances a given handler at a time while the others
+ * skip it. A batch is read after the offset and the offset moves past every event
+ * the handler accepted, in the same transaction.
+ * <p>
+ * Identity values are assigned at insert but become visible at commit, so a gap
+ * in ids may be a transaction still in flight. Delivery stops at a gap until the
+ * event after it is older than {@code tribenet.outbox.gap-timeout-ms}; the offset
+ * then moves past it and the missing ids are kept on the offset row. They are
+ * looked up again on every batch and delivered, out of order, if they turn up;
+ * an id still missing after {@code tribenet.outbox.gap-expiry-ms} is taken to be
+ * a rollback and forgotten. Gaps are measured in steps of
+ * {@code tribenet.outbox.id-increment}, which must match the database's
+ * {@code auto_increment_increment}.
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final int MAX_SKIPPED_IDS = 1_000;
+
+    private final List<OutboxHandler> handlers;
+    private final OutboxEventRepo outboxEventRepo;
+    private final OutboxOffsetRepo outboxOffsetRepo;
+    private final TransactionTemplate transaction;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final long gapTimeoutMillis;
+    private final long gapExpiryMillis;
+    private final long idIncrement;
+    private final long retentionHours;
+
+    private final ExecutorService workers;
+    private final Map<String, AtomicBoolean> running = new HashMap<>();
+    private volatile boolean started;
+
+    public OutboxDispatcher(List<OutboxHandler> handlers,
+                            OutboxEventRepo outboxEventRepo,
+                            OutboxOffsetRepo outboxOffsetRepo,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${tribenet.outbox.workers:4}") int workers,
+                            @Value("${tribenet.outbox.batch-size:100}") int batchSize,
+                            @Value("${tribenet.outbox.gap-timeout-ms:5000}") long gapTimeoutMillis,
+                            @Value("${tribenet.outbox.gap-expiry-ms:600000}") long gapExpiryMillis,
+                            @Value("${tribenet.outbox.id-increment:1}") long idIncrement,
+                            @Value("${tribenet.outbox.retention-hours:24}") long retentionHours) {
+        this.handlers = handlers;
+        this.outboxEventRepo = outboxEventRepo;
+        this.outboxOffsetRepo = outboxOffsetRepo;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        this.gapExpiryMillis = gapExpiryMillis;
+        this.idIncrement = idIncrement;
+        this.retentionHours = retentionHours;
+        this.workers = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("outbox-", 0).factory());
+        for (OutboxHandler handler : handlers) {
+            if (running.put(handler.name(), new AtomicBoolean()) != null) {
+                throw new IllegalStateException("Duplicate outbox handler name: " + handler.name());
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerHandlers() {
+        for (OutboxHandler handler : handlers) {
+            if (!outboxOffsetRepo.existsById(handler.name())) {
+                try {
+                    outboxOffsetRepo.save(new OutboxOffset(handler.name(), 0L, LocalDateTime.now(), new HashMap<>()));
+                } catch (DataIntegrityViolationException e) {
+                    // registered concurrently by another node
+                }
+            }
+        }
+        started = true;
+        log.info("Outbox dispatcher started with handlers {}", running.keySet());
+    }
+
+    @Scheduled(fixedDelayString = "${tribenet.outbox.poll-interval-ms:500}")
+    public void poll() {
+        if (!started) {
+            return;
+        }
+        for (OutboxHandler handler : handlers) {
+            AtomicBoolean busy = running.get(handler.name());
+            if (busy.compareAndSet(false, true)) {
+                workers.execute(() -> drain(handler, busy));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tribenet.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        if (!started) {
+            return;
+        }
+        Long delivered = handlers.isEmpty() ? Long.MAX_VALUE : outboxOffsetRepo.findMinOffset(running.keySet());
+        if (delivered == null) {
+            return;
+        }
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transaction.execute(status -> outboxEventRepo.deleteDeliveredBefore(delivered, before));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} delivered outbox events", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        started = false;
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void drain(OutboxHandler handler, AtomicBoolean busy) {
+        try {
+            while (started && dispatchBatch(handler) == batchSize) {
+                // keep going while full batches are being delivered
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox dispatch for {} failed", handler.name(), e);
+        } finally {
+            busy.set(false);
+        }
+    }
+
+    /**
+     * Delivers skipped events that have since appeared, then the next batch after
+     * the offset. Returns the number of events the offset advanced over, or 0 if
+     * the handler is claimed elsewhere.
+     */
+    int dispatchBatch(OutboxHandler handler) {
+        Integer advanced = transaction.execute(status -> {
+            OutboxOffset offset = outboxOffsetRepo.claim(handler.name()).orElse(null);
+            if (offset == null) {
+                return 0;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            int late = offset.getSkippedIds().isEmpty() ? 0 : deliverSkipped(handler, offset.getSkippedIds(), now);
+
+            List<OutboxEvent> batch = outboxEventRepo.findByIdGreaterThanOrderByIdAsc(
+                    offset.getLastEventId(), Limit.of(batchSize));
+            LocalDateTime gapCutoff = now.minusNanos(gapTimeoutMillis * 1_000_000);
+
+            long last = offset.getLastEventId();
+            int count = 0;
+            for (OutboxEvent event : batch) {
+                long expected = last == 0 ? 1 : last + idIncrement;
+                if (event.getId() != expected) {
+                    if (event.getCreatedAt().isAfter(gapCutoff)) {
+                        break;
+                    }
+                    if (last > 0) {
+                        skip(handler, offset.getSkippedIds(), last, event.getId(), now);
+                    }
+                }
+                if (!deliver(handler, event)) {
+                    break;
+                }
+                last = event.getId();
+                count++;
+            }
+
+            if (count > 0) {
+                offset.setLastEventId(last);
+            }
+            if (count + late > 0) {
+                offset.setUpdatedAt(now);
+                meterRegistry.counter("tribenet.outbox.delivered", "handler", handler.name()).increment(count + late);
+            }
+            return count;
+        });
+        return advanced != null ? advanced : 0;
+    }
+
+    /** Delivers the skipped ids that are now visible and forgets the ones past the expiry; returns how many were delivered. */
+    private int deliverSkipped(OutboxHandler handler, Map<Long, LocalDateTime> skipped, LocalDateTime now) {
+        List<OutboxEvent> arrived = new ArrayList<>(outboxEventRepo.findAllById(skipped.keySet()));
+        arrived.sort(Comparator.comparing(OutboxEvent::getId));
+        int delivered = 0;
+        Set<Long> found = new HashSet<>();
+        for (OutboxEvent event : arrived) {
+            found.add(event.getId());
+            if (deliver(handler, event)) {
+                skipped.remove(event.getId());
+                delivered++;
+            }
+        }
+        LocalDateTime expiry = now.minusNanos(gapExpiryMillis * 1_000_000);
+        int before = skipped.size();
+        skipped.entrySet().removeIf(entry -> !found.contains(entry.getKey()) && entry.getValue().isBefore(expiry));
+        if (skipped.size() < before) {
+            log.info("Outbox handler {} gave up on {} ids that never appeared", handler.name(), before - skipped.size());
+        }
+        if (delivered > 0) {
+            meterRegistry.counter("tribenet.outbox.late", "handler", handler.name()).increment(delivered);
+        }
+        return delivered;
+    }
+
+    /** Remembers the ids strictly between {@code last} and {@code next} so they are checked again. */
+    private void skip(OutboxHandler handler, Map<Long, LocalDateTime> skipped, long last, long next, LocalDateTime now) {
+        for (long id = last + idIncrement; id < next; id += idIncrement) {
+            if (skipped.size() >= MAX_SKIPPED_IDS) {
+                log.warn("Outbox handler {} tracks {} skipped ids already; not tracking ids {} to {}",
+                        handler.name(), MAX_SKIPPED_IDS, id, next - 1);
+                return;
+            }
+            skipped.put(id, now);
+        }
+    }
+
+    /** Hands one event to the handler; {@code false} means it failed and should be retried. */
+    private boolean deliver(OutboxHandler handler, OutboxEvent event) {
+        if (!handler.accepts(event.getEventType())) {
+            return true;
+        }
+        try {
+            handler.handle(event);
+            return true;
+        } catch (Exception e) {
+            meterRegistry.counter("tribenet.outbox.failures", "handler", handler.name()).increment();
+            log.warn("Outbox handler {} failed on event {}; will retry", handler.name(), event.getId(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.tribenet.tribenet.service;
+
+import org.json.JSONObject;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.tribenet.tribenet.model.OutboxEvent;
+import org.tribenet.tribenet.repository.OutboxEventRepo;
+
+@Component
+public class OutboxPublisher {
+
+    private final OutboxEventRepo outboxEventRepo;
+
+    public OutboxPublisher(OutboxEventRepo outboxEventRepo) {
+        this.outboxEventRepo = outboxEventRepo;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, Long aggregateId, String eventType, JSONObject payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        event.setPayload(payload.toString());
+        outboxEventRepo.save(event);
+    }
+}
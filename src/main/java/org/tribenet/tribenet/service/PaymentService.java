@@ -4,14 +4,17 @@ import com.razorpay.Order;
 import com.razorpay.RazorpayClient;
 import com.razorpay.RazorpayException;
 import com.razorpay.Utils;
+import io.micrometer.core.annotation.Timed;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.tribenet.tribenet.dto.*;
 import org.tribenet.tribenet.exception.PaymentException;
 import org.tribenet.tribenet.exception.ResourceNotFoundException;
 import org.tribenet.tribenet.model.Payment;
 import org.tribenet.tribenet.model.PaymentStatus;
+import org.tribenet.tribenet.repository.JdbcReadRepo;
 import org.tribenet.tribenet.repository.PaymentRepository;
 
 import java.math.BigDecimal;
@@ -19,10 +22,13 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("tribenet.service")
 public class PaymentService {
 
     private final RazorpayClient razorpayClient;
     private final PaymentRepository paymentRepository;
+    private final JdbcReadRepo jdbcReadRepo;
+    private final OutboxPublisher outboxPublisher;
 
     @Value("${razorpay.key_id}")
     private String keyId;
@@ -30,9 +36,12 @@ public class PaymentService {
     @Value("${razorpay.key_secret}")
     private String keySecret;
 
-    public PaymentService(RazorpayClient razorpayClient, PaymentRepository paymentRepository) {
+    public PaymentService(RazorpayClient razorpayClient, PaymentRepository paymentRepository,
+                          JdbcReadRepo jdbcReadRepo, OutboxPublisher outboxPublisher) {
         this.razorpayClient = razorpayClient;
         this.paymentRepository = paymentRepository;
+        this.jdbcReadRepo = jdbcReadRepo;
+        this.outboxPublisher = outboxPublisher;
     }
 
     public OrderResponse createOrder(CreateOrderRequest request, Long userId) {
@@ -63,6 +72,7 @@ public class PaymentService {
         }
     }
 
+    @Transactional
     public PaymentResponse verifyPayment(PaymentVerificationRequest request) {
         try {
             JSONObject attributes = new JSONObject();
@@ -83,6 +93,15 @@ public class PaymentService {
                 payment.setStatus(PaymentStatus.FAILED);
             }
             paymentRepository.save(payment);
+            outboxPublisher.append("payment", payment.getId(),
+                    isValid ? "payment.verified" : "payment.failed",
+                    new JSONObject()
+                            .put("paymentId", payment.getId())
+                            .put("orderId", payment.getOrderId())
+                            .put("userId", payment.getUserId())
+                            .put("amount", payment.getAmount())
+                            .put("currency", payment.getCurrency())
+                            .put("status", payment.getStatus().name()));
 
             return mapToResponse(payment);
         } catch (RazorpayException e) {
@@ -90,7 +109,11 @@ public class PaymentService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<PaymentResponse> getPaymentsByUserId(Long userId) {
+        if (jdbcReadRepo.serves(JdbcReadRepo.PAYMENTS)) {
+            return jdbcReadRepo.findPaymentsByUserId(userId);
+        }
         return paymentRepository.findByUserId(userId)
                 .stream()
                 .map(this::mapToResponse)
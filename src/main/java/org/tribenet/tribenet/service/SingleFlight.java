@@ -0,0 +1,106 @@
+package org.tribenet.tribenet.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.tribenet.tribenet.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the
+ * loader on its own thread and every caller that arrives while it is running
+ * waits for and shares that result (or exception). Nothing is kept once the
+ * call completes, so this is not a cache.
+ * <p>
+ * Followers wait at most the flight's timeout and then fail with
+ * {@link ServiceUnavailableException}. A flight older than its timeout is no
+ * longer joined; the next caller starts a fresh one.
+ * <p>
+ * Call this outside any transaction, so waiting followers do not hold a
+ * database connection.
+ */
+@Component
+public class SingleFlight {
+
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Duration defaultTimeout;
+
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${tribenet.singleflight.timeout-ms:5000}") long defaultTimeoutMillis) {
+        this.meterRegistry = meterRegistry;
+        this.defaultTimeout = Duration.ofMillis(defaultTimeoutMillis);
+    }
+
+    public <T> T execute(String name, Object key, Supplier<T> loader) {
+        return execute(name, key, defaultTimeout, loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Duration timeout, Supplier<T> loader) {
+        String flightKey = name + ':' + key;
+        Flight mine = new Flight(System.nanoTime() + timeout.toNanos());
+        while (true) {
+            Flight current = flights.putIfAbsent(flightKey, mine);
+            if (current == null) {
+                meterRegistry.counter("tribenet.singleflight.calls", "name", name, "result", "leader").increment();
+                return (T) lead(flightKey, mine, loader);
+            }
+            if (current.deadline - System.nanoTime() > 0) {
+                meterRegistry.counter("tribenet.singleflight.calls", "name", name, "result", "coalesced").increment();
+                return (T) follow(name, current);
+            }
+            // the in-flight call has overrun its timeout; stop sending callers to it
+            flights.remove(flightKey, current);
+        }
+    }
+
+    private Object lead(String flightKey, Flight flight, Supplier<?> loader) {
+        try {
+            Object result = loader.get();
+            flight.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flightKey, flight);
+        }
+    }
+
+    private Object follow(String name, Flight flight) {
+        try {
+            long remaining = flight.deadline - System.nanoTime();
+            return flight.result.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            meterRegistry.counter("tribenet.singleflight.timeouts", "name", name).increment();
+            throw new ServiceUnavailableException("Timed out waiting for a concurrent " + name + " request");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted waiting for a concurrent " + name + " request");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    private static final class Flight {
+        private final long deadline;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Flight(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+}
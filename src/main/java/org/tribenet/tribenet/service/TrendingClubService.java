@@ -0,0 +1,390 @@
+package org.tribenet.tribenet.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tribenet.tribenet.dto.TrendingClubDTO;
+import org.tribenet.tribenet.event.ClubDeletedEvent;
+import org.tribenet.tribenet.event.MembershipEvent;
+import org.tribenet.tribenet.exception.BadRequestException;
+import org.tribenet.tribenet.model.Club;
+import org.tribenet.tribenet.model.ClubActivityBucket;
+import org.tribenet.tribenet.repository.ClubActivityBucketRepo;
+import org.tribenet.tribenet.repository.ClubRepo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Join/leave velocity per club over the last hour, day and week. Each club keeps
+ * a ring of minute buckets and a ring of hour buckets updated with atomics from
+ * committed membership events. A top-N per window is recomputed on a schedule
+ * and the hour buckets are checkpointed to {@code club_activity_buckets} so the
+ * day and week windows survive restarts.
+ */
+@Service
+public class TrendingClubService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingClubService.class);
+
+    private static final int MINUTE_SLOTS = 60;
+    private static final int HOUR_SLOTS = 168;
+    private static final int MAX_LIMIT = 50;
+    private static final int FULL_RECOMPUTE_EVERY = 10;
+    private static final Comparator<Ranked> BY_GROWTH =
+            Comparator.comparingLong(Ranked::netGrowth).thenComparingLong(Ranked::joins);
+
+    public enum Window {
+        HOUR("1h"), DAY("24h"), WEEK("7d");
+
+        private final String label;
+
+        Window(String label) {
+            this.label = label;
+        }
+
+        public static Window parse(String label) {
+            for (Window window : values()) {
+                if (window.label.equalsIgnoreCase(label)) {
+                    return window;
+                }
+            }
+            throw new BadRequestException("Unknown window '" + label + "', expected one of 1h, 24h, 7d");
+        }
+    }
+
+    private final ClubActivityBucketRepo bucketRepo;
+    private final ClubRepo clubRepo;
+    private final TransactionTemplate transaction;
+
+    private final Map<Long, ClubActivity> activity = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private volatile Map<Window, List<Ranked>> ranking = new EnumMap<>(Window.class);
+    private int recomputeCount;
+
+    public TrendingClubService(ClubActivityBucketRepo bucketRepo, ClubRepo clubRepo,
+                               PlatformTransactionManager transactionManager) {
+        this.bucketRepo = bucketRepo;
+        this.clubRepo = clubRepo;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public List<TrendingClubDTO> getTrendingClubs(String window, int limit) {
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<Ranked> top = ranking.getOrDefault(Window.parse(window), List.of());
+        if (top.isEmpty()) {
+            return List.of();
+        }
+
+        List<Ranked> page = top.subList(0, Math.min(k, top.size()));
+        Map<Long, Club> clubs = clubRepo.findAllById(page.stream().map(Ranked::clubId).toList())
+                .stream()
+                .collect(Collectors.toMap(Club::getId, Function.identity()));
+
+        List<TrendingClubDTO> result = new ArrayList<>(page.size());
+        for (Ranked ranked : page) {
+            Club club = clubs.get(ranked.clubId());
+            if (club != null) {
+                result.add(new TrendingClubDTO(
+                        club.getId(),
+                        club.getName(),
+                        club.getCategory(),
+                        ranked.joins(),
+                        ranked.leaves(),
+                        ranked.netGrowth()
+                ));
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener
+    public void onMembershipChanged(MembershipEvent event) {
+        boolean join;
+        switch (event.type()) {
+            case JOINED -> join = true;
+            case LEFT, REMOVED -> join = false;
+            default -> {
+                return;
+            }
+        }
+        long now = System.currentTimeMillis();
+        activity.computeIfAbsent(event.clubId(), id -> new ClubActivity())
+                .record(minuteOf(now), hourOf(now), join);
+        dirty.add(event.clubId());
+    }
+
+    @TransactionalEventListener
+    public void onClubDeleted(ClubDeletedEvent event) {
+        activity.remove(event.clubId());
+        dirty.remove(event.clubId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void restore() {
+        int nowHour = hourOf(System.currentTimeMillis());
+        List<ClubActivityBucket> buckets = bucketRepo.findByBucketHourGreaterThan((long) nowHour - HOUR_SLOTS);
+        for (ClubActivityBucket bucket : buckets) {
+            activity.computeIfAbsent(bucket.getClubId(), id -> new ClubActivity())
+                    .restore(Math.toIntExact(bucket.getBucketHour()), Math.toIntExact(bucket.getJoins()),
+                            Math.toIntExact(bucket.getLeaves()));
+        }
+        log.info("Restored {} trending buckets for {} clubs", buckets.size(), activity.size());
+        recomputeCount = 0;
+        recompute();
+    }
+
+    /**
+     * Re-scores the clubs touched since the last run plus the current leaders. Idle
+     * clubs outside the top can overtake decaying leaders only through expiry, so
+     * every few runs all tracked clubs are re-scored and idle ones are dropped.
+     */
+    @Scheduled(fixedDelayString = "${tribenet.trending.recompute-interval-ms:30000}")
+    public synchronized void recompute() {
+        boolean full = recomputeCount++ % FULL_RECOMPUTE_EVERY == 0;
+        Set<Long> candidates = new HashSet<>();
+        for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+            candidates.add(it.next());
+            it.remove();
+        }
+        if (full) {
+            candidates.addAll(activity.keySet());
+        } else {
+            ranking.values().forEach(top -> top.forEach(ranked -> candidates.add(ranked.clubId())));
+        }
+
+        long now = System.currentTimeMillis();
+        int nowMinute = minuteOf(now);
+        int nowHour = hourOf(now);
+        Map<Window, PriorityQueue<Ranked>> heaps = new EnumMap<>(Window.class);
+        for (Window window : Window.values()) {
+            heaps.put(window, new PriorityQueue<>(MAX_LIMIT + 1, BY_GROWTH));
+        }
+
+        for (Long clubId : candidates) {
+            ClubActivity club = activity.get(clubId);
+            if (club == null) {
+                continue;
+            }
+            int[] week = club.hours.sum(nowHour - HOUR_SLOTS, nowHour);
+            if (full && week[0] == 0 && week[1] == 0 && club.isFlushed()) {
+                activity.remove(clubId, club);
+                continue;
+            }
+            for (Window window : Window.values()) {
+                int[] counts = switch (window) {
+                    case HOUR -> club.minutes.sum(nowMinute - MINUTE_SLOTS, nowMinute);
+                    case DAY -> club.hours.sum(nowHour - 24, nowHour);
+                    case WEEK -> week;
+                };
+                if (counts[0] > 0) {
+                    offer(heaps.get(window), new Ranked(clubId, counts[0], counts[1], counts[0] - counts[1]));
+                }
+            }
+        }
+
+        Map<Window, List<Ranked>> next = new EnumMap<>(Window.class);
+        heaps.forEach((window, heap) -> {
+            List<Ranked> top = new ArrayList<>(heap);
+            top.sort(BY_GROWTH.reversed());
+            next.put(window, List.copyOf(top));
+        });
+        ranking = next;
+    }
+
+    /**
+     * Adds the hour-bucket increments recorded since the previous checkpoint, so
+     * several instances can write into the same rows without overwriting each other.
+     */
+    @Scheduled(fixedDelayString = "${tribenet.trending.checkpoint-interval-ms:60000}")
+    public synchronized void checkpoint() {
+        List<Delta> deltas = new ArrayList<>();
+        activity.forEach((clubId, club) -> club.collectDeltas(clubId, deltas));
+        int nowHour = hourOf(System.currentTimeMillis());
+
+        transaction.executeWithoutResult(status -> {
+            for (Delta delta : deltas) {
+                bucketRepo.addToBucket(delta.clubId(), (long) delta.hour(), delta.joins(), delta.leaves());
+            }
+            bucketRepo.deleteOlderThan((long) nowHour - HOUR_SLOTS);
+        });
+
+        for (Delta delta : deltas) {
+            ClubActivity club = activity.get(delta.clubId());
+            if (club != null) {
+                club.markFlushed(delta);
+            }
+        }
+        if (!deltas.isEmpty()) {
+            log.debug("Checkpointed {} trending buckets", deltas.size());
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            log.warn("Final trending checkpoint failed", e);
+        }
+    }
+
+    private static void offer(PriorityQueue<Ranked> heap, Ranked ranked) {
+        heap.offer(ranked);
+        if (heap.size() > MAX_LIMIT) {
+            heap.poll();
+        }
+    }
+
+    private static int minuteOf(long epochMillis) {
+        return (int) (epochMillis / 60_000);
+    }
+
+    private static int hourOf(long epochMillis) {
+        return (int) (epochMillis / 3_600_000);
+    }
+
+    private record Ranked(Long clubId, long joins, long leaves, long netGrowth) {
+    }
+
+    private record Delta(Long clubId, int hour, int joins, int leaves) {
+    }
+
+    private static final class ClubActivity {
+
+        private final Ring minutes = new Ring(MINUTE_SLOTS);
+        private final Ring hours = new Ring(HOUR_SLOTS);
+
+        // Touched only by the synchronized checkpoint/restore paths.
+        private final int[] flushedHour = new int[HOUR_SLOTS];
+        private final int[] flushedJoins = new int[HOUR_SLOTS];
+        private final int[] flushedLeaves = new int[HOUR_SLOTS];
+
+        void record(int minute, int hour, boolean join) {
+            minutes.increment(minute, join);
+            hours.increment(hour, join);
+        }
+
+        void restore(int hour, int joins, int leaves) {
+            hours.set(hour, joins, leaves);
+            int i = Math.floorMod(hour, HOUR_SLOTS);
+            flushedHour[i] = hour;
+            flushedJoins[i] = joins;
+            flushedLeaves[i] = leaves;
+        }
+
+        void collectDeltas(Long clubId, List<Delta> out) {
+            for (int i = 0; i < HOUR_SLOTS; i++) {
+                int hour = hours.stamps.get(i);
+                if (hour == 0) {
+                    continue;
+                }
+                boolean sameBucket = flushedHour[i] == hour;
+                int joins = hours.joins.get(i) - (sameBucket ? flushedJoins[i] : 0);
+                int leaves = hours.leaves.get(i) - (sameBucket ? flushedLeaves[i] : 0);
+                if (joins != 0 || leaves != 0) {
+                    out.add(new Delta(clubId, hour, joins, leaves));
+                }
+            }
+        }
+
+        void markFlushed(Delta delta) {
+            int i = Math.floorMod(delta.hour(), HOUR_SLOTS);
+            if (flushedHour[i] != delta.hour()) {
+                flushedHour[i] = delta.hour();
+                flushedJoins[i] = 0;
+                flushedLeaves[i] = 0;
+            }
+            flushedJoins[i] += delta.joins();
+            flushedLeaves[i] += delta.leaves();
+        }
+
+        boolean isFlushed() {
+            for (int i = 0; i < HOUR_SLOTS; i++) {
+                int hour = hours.stamps.get(i);
+                if (hour != 0 && (flushedHour[i] != hour
+                        || flushedJoins[i] != hours.joins.get(i)
+                        || flushedLeaves[i] != hours.leaves.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Fixed ring of time buckets. A slot is claimed for a new period by CAS on its
+     * stamp; increments racing with that reset may be lost, which is acceptable for
+     * a ranking signal.
+     */
+    private static final class Ring {
+
+        private final int size;
+        private final AtomicIntegerArray stamps;
+        private final AtomicIntegerArray joins;
+        private final AtomicIntegerArray leaves;
+
+        Ring(int size) {
+            this.size = size;
+            this.stamps = new AtomicIntegerArray(size);
+            this.joins = new AtomicIntegerArray(size);
+            this.leaves = new AtomicIntegerArray(size);
+        }
+
+        void increment(int period, boolean join) {
+            int i = Math.floorMod(period, size);
+            int stamp = stamps.get(i);
+            if (stamp != period) {
+                if (stamp < period && stamps.compareAndSet(i, stamp, period)) {
+                    joins.set(i, 0);
+                    leaves.set(i, 0);
+                } else if (stamps.get(i) != period) {
+                    return;
+                }
+            }
+            (join ? joins : leaves).incrementAndGet(i);
+        }
+
+        void set(int period, int joinCount, int leaveCount) {
+            int i = Math.floorMod(period, size);
+            if (stamps.get(i) > period) {
+                return;
+            }
+            stamps.set(i, period);
+            joins.set(i, joinCount);
+            leaves.set(i, leaveCount);
+        }
+
+        /** Sums the buckets in {@code (fromExclusive, toInclusive]} as {joins, leaves}. */
+        int[] sum(int fromExclusive, int toInclusive) {
+            int joinSum = 0;
+            int leaveSum = 0;
+            for (int i = 0; i < size; i++) {
+                int stamp = stamps.get(i);
+                if (stamp > fromExclusive && stamp <= toInclusive) {
+                    joinSum += joins.get(i);
+                    leaveSum += leaves.get(i);
+                }
+            }
+            return new int[]{joinSum, leaveSum};
+        }
+    }
+}
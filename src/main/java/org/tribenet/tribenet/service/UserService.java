@@ -1,34 +1,54 @@
 package org.tribenet.tribenet.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.tribenet.tribenet.config.CacheConfig;
+import org.tribenet.tribenet.config.ReplicaRoutingDataSource;
+import org.tribenet.tribenet.dto.BatchResponseDTO;
 import org.tribenet.tribenet.dto.ClubResponseDTO;
 import org.tribenet.tribenet.dto.UserResponseDTO;
 import org.tribenet.tribenet.model.Club;
 import org.tribenet.tribenet.model.User;
 import org.tribenet.tribenet.model.UserClub;
 import org.tribenet.tribenet.model.UserPrincipal;
+import org.tribenet.tribenet.repository.ClubMemberCount;
+import org.tribenet.tribenet.repository.JdbcReadRepo;
+import org.tribenet.tribenet.repository.UserClubRepo;
 import org.tribenet.tribenet.repository.UserRepo;
+import org.tribenet.tribenet.utility.BatchIds;
 
 @Service
+@Timed("tribenet.service")
 public class UserService implements UserDetailsService {
 
     private final UserRepo repo;
+    private final UserClubRepo userClubRepo;
+    private final JdbcReadRepo jdbcReadRepo;
 
-    public UserService(UserRepo repo){
+    public UserService(UserRepo repo, UserClubRepo userClubRepo, JdbcReadRepo jdbcReadRepo){
         this.repo = repo;
+        this.userClubRepo = userClubRepo;
+        this.jdbcReadRepo = jdbcReadRepo;
     }
 
     @Override
+    @Cacheable(CacheConfig.PRINCIPALS)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = repo.findByUsername(username);
+        User user = ReplicaRoutingDataSource.onPrimary(() -> repo.findByUsername(username));
 
         if(user == null){
             throw new UsernameNotFoundException("User not found: " + username);
@@ -40,8 +60,12 @@ public class UserService implements UserDetailsService {
         return repo.findByUsername(username);
     }
 
+    @Transactional(readOnly = true)
     public List<UserResponseDTO> getAllUsers(Authentication auth){
         User user = getUserFromAuth(auth);
+        if (jdbcReadRepo.serves(JdbcReadRepo.USERS)) {
+            return jdbcReadRepo.findUsersExcept(user.getId());
+        }
         return repo.findAllExceptUserId(user.getId()).stream()
                 .map(this::convertToUserResponseDTO)
                 .collect(Collectors.toList());
@@ -52,12 +76,37 @@ public class UserService implements UserDetailsService {
                 .map(this::convertToUserResponseDTO);
     }
 
+    /** Resolves up to {@link BatchIds#MAX_IDS} users with one lookup, in the order requested. */
+    @Transactional(readOnly = true)
+    public BatchResponseDTO<UserResponseDTO> getUsersByIds(List<Long> userIds) {
+        Set<Long> ids = BatchIds.distinct(userIds);
+        Map<Long, User> users = new HashMap<>();
+        for (User user : repo.findAllById(ids)) {
+            users.put(user.getId(), user);
+        }
+        List<Long> missing = new ArrayList<>();
+        List<UserResponseDTO> items = BatchIds.inOrder(ids, users, this::convertToUserResponseDTO, missing);
+        return new BatchResponseDTO<>(items, missing);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<List<ClubResponseDTO>> getUserClubs(Long userId) {
-        return repo.findById(userId)
-                .map(user -> user.getMemberships().stream()
-                        .map(this::convertToClubResponseDTO)
-                        .collect(Collectors.toList())
-                );
+        if (!repo.existsById(userId)) {
+            return Optional.empty();
+        }
+        List<UserClub> memberships = userClubRepo.findActiveByUserId(userId);
+        if (memberships.isEmpty()) {
+            return Optional.of(List.of());
+        }
+        Map<Long, Integer> memberCounts = new HashMap<>();
+        for (ClubMemberCount count : userClubRepo.countByClubIds(
+                memberships.stream().map(membership -> membership.getClub().getId()).toList())) {
+            memberCounts.put(count.getClubId(), count.getMemberCount().intValue());
+        }
+        return Optional.of(memberships.stream()
+                .map(membership -> convertToClubResponseDTO(membership,
+                        memberCounts.getOrDefault(membership.getClub().getId(), 0)))
+                .collect(Collectors.toList()));
     }
 
     private User getUserFromAuth(Authentication auth) {
@@ -75,7 +124,7 @@ public class UserService implements UserDetailsService {
         );
     }
 
-    private ClubResponseDTO convertToClubResponseDTO(UserClub userClub) {
+    private ClubResponseDTO convertToClubResponseDTO(UserClub userClub, int memberCount) {
         Club club = userClub.getClub();
         return new ClubResponseDTO(
                 club.getId(),
@@ -85,7 +134,7 @@ public class UserService implements UserDetailsService {
                 club.isFree(),
                 club.getPrice(),
                 userClub.getClubRole().name(),
-                club.getMembers() != null ? club.getMembers().size() : 0
+                memberCount
         );
     }
 }
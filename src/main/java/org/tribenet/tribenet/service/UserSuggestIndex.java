@@ -0,0 +1,264 @@
+package org.tribenet.tribenet.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tribenet.tribenet.dto.UserSuggestionDTO;
+import org.tribenet.tribenet.event.UserDeletedEvent;
+import org.tribenet.tribenet.event.UserRegisteredEvent;
+import org.tribenet.tribenet.exception.BadRequestException;
+import org.tribenet.tribenet.repository.UserRepo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-folded prefix index over usernames, full names and the later words of
+ * names. Lookups binary-search a sorted key array built at startup and merge in
+ * a small sorted delta of users registered since; deletions are masked by id.
+ * The delta is merged into the array once it grows past a threshold.
+ */
+@Component
+public class UserSuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSuggestIndex.class);
+    private static final int MAX_LIMIT = 50;
+    private static final int COMPACT_THRESHOLD = 4096;
+
+    private final UserRepo userRepo;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private String[] keys = new String[0];
+    private int[] ids = new int[0];
+    private final TreeSet<Entry> added = new TreeSet<>();
+    private final Set<Integer> removed = new HashSet<>();
+    private final Map<Integer, Names> users = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public UserSuggestIndex(UserRepo userRepo, PlatformTransactionManager transactionManager) {
+        this.userRepo = userRepo;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<Entry> entries = new ArrayList<>();
+        Map<Integer, Names> loaded = new HashMap<>();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (var rows = userRepo.streamAllNameFields()) {
+                rows.forEach(row -> {
+                    int id = MembershipIndex.toInt(row.getId());
+                    Names names = new Names(row.getUsername(), row.getName());
+                    loaded.put(id, names);
+                    for (String key : keysOf(names)) {
+                        entries.add(new Entry(key, id));
+                    }
+                });
+            }
+        });
+        entries.sort(null);
+        String[] newKeys = new String[entries.size()];
+        int[] newIds = new int[entries.size()];
+        for (int i = 0; i < newKeys.length; i++) {
+            newKeys[i] = entries.get(i).key();
+            newIds[i] = entries.get(i).id();
+        }
+
+        lock.writeLock().lock();
+        try {
+            keys = newKeys;
+            ids = newIds;
+            loaded.keySet().removeAll(removed);
+            users.putAll(loaded);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("User suggest index loaded {} users ({} keys) in {} ms",
+                loaded.size(), newKeys.length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        int id = MembershipIndex.toInt(event.userId());
+        Names names = new Names(event.username(), event.name());
+        lock.writeLock().lock();
+        try {
+            users.put(id, names);
+            for (String key : keysOf(names)) {
+                added.add(new Entry(key, id));
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        int id = MembershipIndex.toInt(event.userId());
+        lock.writeLock().lock();
+        try {
+            Names names = users.remove(id);
+            if (names != null) {
+                for (String key : keysOf(names)) {
+                    added.remove(new Entry(key, id));
+                }
+            }
+            removed.add(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<UserSuggestionDTO> suggest(String prefix, int limit) {
+        String folded = prefix == null ? "" : fold(prefix);
+        if (folded.isEmpty()) {
+            throw new BadRequestException("prefix must not be empty");
+        }
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        lock.readLock().lock();
+        try {
+            Set<Integer> matched = new LinkedHashSet<>();
+            int i = lowerBound(keys, folded);
+            Iterator<Entry> delta = added.tailSet(new Entry(folded, Integer.MIN_VALUE), true).iterator();
+            Entry next = nextMatch(delta, folded);
+
+            while (matched.size() < k) {
+                boolean fromBase = i < keys.length && keys[i].startsWith(folded);
+                if (!fromBase && next == null) {
+                    break;
+                }
+                if (fromBase && (next == null || compare(keys[i], ids[i], next) <= 0)) {
+                    int id = ids[i++];
+                    if (!removed.contains(id)) {
+                        matched.add(id);
+                    }
+                } else {
+                    matched.add(next.id());
+                    next = nextMatch(delta, folded);
+                }
+            }
+
+            List<UserSuggestionDTO> result = new ArrayList<>(matched.size());
+            for (int id : matched) {
+                Names names = users.get(id);
+                if (names != null) {
+                    result.add(new UserSuggestionDTO((long) id, names.username(), names.name()));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Merges the delta into the base arrays and drops deleted ids. Caller holds the write lock. */
+    private void compactIfNeeded() {
+        if (added.size() + removed.size() < Math.max(COMPACT_THRESHOLD, keys.length / 16)) {
+            return;
+        }
+        String[] newKeys = new String[keys.length + added.size()];
+        int[] newIds = new int[newKeys.length];
+        int n = 0;
+        int i = 0;
+        Iterator<Entry> delta = added.iterator();
+        Entry next = delta.hasNext() ? delta.next() : null;
+        while (i < keys.length || next != null) {
+            if (i < keys.length && (next == null || compare(keys[i], ids[i], next) <= 0)) {
+                if (!removed.contains(ids[i])) {
+                    newKeys[n] = keys[i];
+                    newIds[n++] = ids[i];
+                }
+                i++;
+            } else {
+                newKeys[n] = next.key();
+                newIds[n++] = next.id();
+                next = delta.hasNext() ? delta.next() : null;
+            }
+        }
+        keys = Arrays.copyOf(newKeys, n);
+        ids = Arrays.copyOf(newIds, n);
+        added.clear();
+        removed.clear();
+    }
+
+    private static Entry nextMatch(Iterator<Entry> delta, String prefix) {
+        if (delta.hasNext()) {
+            Entry entry = delta.next();
+            if (entry.key().startsWith(prefix)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static int lowerBound(String[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(String key, int id, Entry entry) {
+        int byKey = key.compareTo(entry.key());
+        return byKey != 0 ? byKey : Integer.compare(id, entry.id());
+    }
+
+    private static Set<String> keysOf(Names names) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (names.username() != null) {
+            keys.add(fold(names.username()));
+        }
+        if (names.name() != null) {
+            String name = fold(names.name());
+            keys.add(name);
+            String[] words = name.split("\\s+");
+            for (int w = 1; w < words.length; w++) {
+                keys.add(words[w]);
+            }
+        }
+        keys.remove("");
+        return keys;
+    }
+
+    private static String fold(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record Names(String username, String name) {
+    }
+
+    private record Entry(String key, int id) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            return compare(key, id, other);
+        }
+    }
+}
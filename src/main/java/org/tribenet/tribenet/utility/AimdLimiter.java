@@ -0,0 +1,98 @@
+package org.tribenet.tribenet.utility;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that grows by one per limit's worth of completions while
+ * latency is normal (additive increase) and is cut by {@code backoffRatio} when
+ * it is not (multiplicative decrease). Latency is judged by comparing a short
+ * moving average, over roughly the last ten requests, with a long one over
+ * several hundred that stands for the uncongested service time: it is abnormal
+ * once the short average exceeds {@code tolerance} times the long one plus a
+ * fixed floor. Single outliers are absorbed by the short average, and only
+ * requests admitted after the last cut can cause another, so one slow burst
+ * backs off once rather than collapsing the limit.
+ * <p>
+ * A share of the limit is held back for priority callers: ordinary requests are
+ * admitted while fewer than {@code limit * (1 - priorityReserve)} are in flight,
+ * priority requests up to the full limit.
+ */
+public class AimdLimiter {
+
+    private static final double SHORT_WEIGHT = 0.1;
+    private static final double LONG_WEIGHT = 0.002;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final long floorNanos;
+    private final double priorityReserve;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double shortNanos;
+    private double longNanos;
+    private long lastDecreaseNanos = System.nanoTime();
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double tolerance,
+                       long floorNanos, double priorityReserve) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Require 1 <= min-limit <= max-limit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.floorNanos = floorNanos;
+        this.priorityReserve = priorityReserve;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    /** Admits the request if its lane has room; {@code false} means it should be shed. */
+    public boolean tryAcquire(boolean priority) {
+        int current = getLimit();
+        int allowed = priority ? current : Math.max(1, (int) (current * (1 - priorityReserve)));
+        while (true) {
+            int running = inFlight.get();
+            if (running >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(running, running + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Completes a request admitted at {@code startNanos} and adjusts the limit from its latency. */
+    public void release(long startNanos) {
+        int running = inFlight.getAndDecrement();
+        long now = System.nanoTime();
+        long latency = now - startNanos;
+        synchronized (this) {
+            if (longNanos == 0) {
+                shortNanos = latency;
+                longNanos = latency;
+            } else {
+                shortNanos += (latency - shortNanos) * SHORT_WEIGHT;
+                longNanos += (latency - longNanos) * LONG_WEIGHT;
+            }
+            if (shortNanos > longNanos * tolerance + floorNanos) {
+                if (startNanos - lastDecreaseNanos > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = now;
+                }
+            } else if (running * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,53 @@
+package org.tribenet.tribenet.utility;
+
+import org.tribenet.tribenet.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/** Validation and ordering helpers for the {@code /batch} multi-get endpoints. */
+public final class BatchIds {
+
+    public static final int MAX_IDS = 100;
+
+    private BatchIds() {
+    }
+
+    /** Returns the requested ids without duplicates, in the order first given. */
+    public static Set<Long> distinct(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("ids must not be empty");
+        }
+        Set<Long> distinct = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null) {
+                distinct.add(id);
+            }
+        }
+        if (distinct.isEmpty()) {
+            throw new BadRequestException("ids must not be empty");
+        }
+        if (distinct.size() > MAX_IDS) {
+            throw new BadRequestException("At most " + MAX_IDS + " ids can be requested at once");
+        }
+        return distinct;
+    }
+
+    /** Maps found entities in request order, collecting ids that were not found into {@code missing}. */
+    public static <E, T> List<T> inOrder(Set<Long> ids, Map<Long, E> found, Function<E, T> mapper, List<Long> missing) {
+        List<T> items = new ArrayList<>(found.size());
+        for (Long id : ids) {
+            E entity = found.get(id);
+            if (entity == null) {
+                missing.add(id);
+            } else {
+                items.add(mapper.apply(entity));
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,133 @@
+package org.tribenet.tribenet.utility;
+
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tribenet.tribenet.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs a fixed set of subtasks on virtual threads and joins them as a unit, in
+ * the shape of {@code StructuredTaskScope.ShutdownOnFailure} (a preview API on
+ * Java 21): the first failure or the deadline cancels the remaining subtasks,
+ * and closing the scope waits for all of them, so none outlives the caller.
+ * Subtasks run with the caller's security context, which read replica routing
+ * uses for read-your-writes.
+ * <p>
+ * Cancelling only interrupts a subtask, and JDBC calls do not react to
+ * interrupts, so a subtask stuck in a statement would hold up {@link #close()}
+ * past the deadline. Database reads are therefore forked through
+ * {@link #readOnly}, whose transaction timeout cuts the statement off at the
+ * same deadline.
+ * <pre>
+ * try (Subtasks scope = new Subtasks()) {
+ *     Subtasks.Subtask&lt;A&gt; a = scope.fork(() -&gt; ...);
+ *     Subtasks.Subtask&lt;B&gt; b = scope.fork(() -&gt; ...);
+ *     scope.join(timeout);
+ *     return combine(a.get(), b.get());
+ * }
+ * </pre>
+ */
+public final class Subtasks implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("subtask-", 0).factory());
+    private final CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+    private final List<Future<Object>> forked = new ArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> Subtask<T> fork(Callable<T> task) {
+        Callable<Object> withContext = DelegatingSecurityContextCallable.create((Callable<Object>) task, null);
+        Future<Object> future = completion.submit(withContext);
+        forked.add(future);
+        return new Subtask<>(future);
+    }
+
+    /**
+     * Waits for every forked subtask. Rethrows the first failure as is (checked
+     * exceptions wrapped); fails with {@link ServiceUnavailableException} when
+     * the subtasks do not all finish within {@code timeout}.
+     */
+    public void join(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (int i = 0; i < forked.size(); i++) {
+                Future<Object> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw new ServiceUnavailableException("Request did not complete within its deadline");
+                }
+                done.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll();
+            throw new ServiceUnavailableException("Interrupted while waiting for subtasks");
+        } catch (ExecutionException e) {
+            cancelAll();
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (RuntimeException e) {
+            cancelAll();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+        executor.close();
+    }
+
+    private void cancelAll() {
+        for (Future<Object> future : forked) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Wraps {@code query} in its own read-only transaction whose timeout ends at
+     * {@code deadline} ({@link System#nanoTime()} based), rounded up to whole
+     * seconds. The timeout applies to every statement the query runs.
+     */
+    public static <T> Callable<T> readOnly(PlatformTransactionManager transactionManager, long deadline,
+                                           Supplier<T> query) {
+        return () -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.setTimeout((int) Math.max(1,
+                    TimeUnit.NANOSECONDS.toSeconds(deadline - System.nanoTime() + 999_999_999)));
+            return transaction.execute(status -> query.get());
+        };
+    }
+
+    /** Result handle of a forked subtask; {@link #get()} is valid after a successful {@link #join}. */
+    public static final class Subtask<T> {
+        private final Future<Object> future;
+
+        private Subtask(Future<Object> future) {
+            this.future = future;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get() {
+            return (T) future.resultNow();
+        }
+    }
+}
@@ -186,24 +186,17 @@ async function loadDashboard() {
     showLoading(true);
     
     try {
-        // Load all clubs
-        const clubsResponse = await apiCall(`${API_BASE}/clubs`);
-        allClubs = clubsResponse;
-        
-        // Load user clubs
-        const userClubsResponse = await apiCall(`${API_BASE}/users/${currentUser.id}/clubs`);
-        userClubs = userClubsResponse;
+        // User clubs, first clubs and counts in one request
+        const dashboard = await apiCall(`${API_BASE}/me/dashboard?limit=6`);
+        userClubs = dashboard.myClubs;
         
         // Update stats
-        document.getElementById('totalClubs').textContent = allClubs.length;
-        document.getElementById('myClubsCount').textContent = userClubs.length;
-        
-        const adminClubs = userClubs.filter(club => club.clubRole === 'ADMIN');
-        document.getElementById('adminClubsCount').textContent = adminClubs.length;
+        document.getElementById('totalClubs').textContent = dashboard.totalClubs;
+        document.getElementById('myClubsCount').textContent = dashboard.myClubsCount;
+        document.getElementById('adminClubsCount').textContent = dashboard.adminClubsCount;
         
         // Show recent clubs
-        const recentClubs = allClubs.slice(0, 6);
-        renderClubs(recentClubs, 'recentClubsList');
+        renderClubs(dashboard.clubs, 'recentClubsList');
         
     } catch (error) {
         console.error('Dashboard load error:', error);
@@ -554,8 +547,15 @@ function renderClubMembers(members, club) {
 }
 
 // ==================== CLUB ACTIONS ====================
-async function joinClub(clubId) {
+// The dashboard only loads the first page of clubs, so fall back to the open details
+function findClub(clubId) {
     const club = allClubs.find(c => c.id === clubId);
+    if (club) return club;
+    return currentClubDetails && currentClubDetails.id === clubId ? currentClubDetails : null;
+}
+
+async function joinClub(clubId) {
+    const club = findClub(clubId);
     const fee = club.price || 0;
     
     if (fee > 0) {
@@ -767,7 +767,7 @@ function closePaymentModal() {
 async function initiatePayment() {
     if (!paymentClubId) return;
     
-    const club = allClubs.find(c => c.id === paymentClubId);
+    const club = findClub(paymentClubId);
     if (!club) return;
     
     showLoading(true);
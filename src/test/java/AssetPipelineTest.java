@@ -0,0 +1,160 @@
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Lives in the unnamed package next to {@code src/build/AssetPipeline.java},
+ * which runs as a single-file program and so has no package of its own.
+ */
+class AssetPipelineTest {
+
+    private static final Path SCRIPT = Path.of("src/main/resources/static/script.js");
+
+    /** Template text is kept as written; code inside a {@code ${}} spanning lines is trimmed like any code. */
+    @Test
+    void multiLineTemplateLiteralsWithNestedSubstitutionsAreKeptAsWritten() {
+        String js = """
+                    function render(club, members) {
+                        return `
+                            <div class="${club.free ? 'free' : `paid ${club.fee}`}">
+                                ${members.map(m => {
+                                    return `<li>${m.name}</li>`;
+                                }).join('')}
+                                  indented   text
+                            </div>
+                        `;
+                    }
+                """;
+
+        assertThat(AssetPipeline.minifyJs(js)).isEqualTo("""
+                function render(club, members) {
+                return `
+                            <div class="${club.free ? 'free' : `paid ${club.fee}`}">
+                                ${members.map(m => {
+                return `<li>${m.name}</li>`;
+                }).join('')}
+                                  indented   text
+                            </div>
+                        `;
+                }
+                """);
+    }
+
+    @Test
+    void objectLiteralInsideASubstitutionDoesNotCloseIt() {
+        String js = """
+                const a = `${ {x: 1}.x } and
+                    still template`;
+                    const b = 2;
+                """;
+
+        assertThat(AssetPipeline.minifyJs(js)).isEqualTo("""
+                const a = `${ {x: 1}.x } and
+                    still template`;
+                const b = 2;
+                """);
+    }
+
+    @Test
+    void slashesInsideStringsAreNotComments() {
+        String js = """
+                    // a whole-line comment
+                    const url = "http://example.com"; // trailing comment stays
+                    const path = '//cdn/`not-a-template`';
+                    const escaped = "a \\" // still a string";
+                    const t = `
+                    // inside a template, kept
+                    `;
+                """;
+
+        assertThat(AssetPipeline.minifyJs(js)).isEqualTo("""
+                const url = "http://example.com"; // trailing comment stays
+                const path = '//cdn/`not-a-template`';
+                const escaped = "a \\" // still a string";
+                const t = `
+                    // inside a template, kept
+                    `;
+                """);
+    }
+
+    @Test
+    void backticksInBlockCommentsDoNotOpenATemplate() {
+        String js = """
+                    /* a `backtick` here
+                       and ` an unmatched one */
+                    const a = 1;
+                    /** one-line ` comment */
+                        const b = 2;
+                """;
+
+        assertThat(AssetPipeline.minifyJs(js)).isEqualTo("""
+                /* a `backtick` here
+                and ` an unmatched one */
+                const a = 1;
+                /** one-line ` comment */
+                const b = 2;
+                """);
+    }
+
+    @Test
+    void bundledScriptOnlyLosesWhitespaceAndWholeLineComments() throws Exception {
+        String original = Files.readString(SCRIPT);
+        String minified = AssetPipeline.minifyJs(original);
+
+        assertThat(minified.length()).isLessThan(original.length());
+        Iterator<String> source = original.lines().iterator();
+        for (String line : minified.lines().toList()) {
+            String from;
+            do {
+                assertThat(source.hasNext()).as("minified line %s not found in order", line).isTrue();
+                from = source.next();
+            } while (!from.equals(line) && !from.strip().equals(line));
+        }
+    }
+
+    @Test
+    void minifiedBundledScriptStillParses() throws Exception {
+        assumeTrue(nodeAvailable(), "node is not on the PATH");
+        Path minified = Files.createTempFile("script", ".js");
+        try {
+            Files.writeString(minified, AssetPipeline.minifyJs(Files.readString(SCRIPT)));
+            Process check = new ProcessBuilder("node", "--check", minified.toString())
+                    .redirectErrorStream(true).start();
+            String output = new String(check.getInputStream().readAllBytes());
+            assertThat(check.waitFor(30, TimeUnit.SECONDS)).isTrue();
+            assertThat(check.exitValue()).as(output).isZero();
+        } finally {
+            Files.delete(minified);
+        }
+    }
+
+    @Test
+    void cssLosesCommentsAndWhitespace() {
+        String css = """
+                /* header */
+                .club-card {
+                    color: red;
+                    margin : 0 auto ;
+                }
+                """;
+
+        assertThat(AssetPipeline.minifyCss(css)).isEqualTo(".club-card{color: red;margin : 0 auto;}");
+    }
+
+    private static boolean nodeAvailable() {
+        try {
+            Process version = new ProcessBuilder(List.of("node", "--version")).redirectErrorStream(true).start();
+            version.getInputStream().readAllBytes();
+            return version.waitFor(30, TimeUnit.SECONDS) && version.exitValue() == 0;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.tribenet.tribenet;
+
+import org.tribenet.tribenet.dto.ClubCreateDTO;
+import org.tribenet.tribenet.model.Club;
+import org.tribenet.tribenet.model.Role;
+import org.tribenet.tribenet.model.User;
+
+/** Entities and DTOs shared by the tests; nothing here is saved. */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    /** A user that logs in with {@code password}, named after its username. */
+    public static User user(String username, Role role) {
+        User user = new User();
+        user.setName(username);
+        user.setUsername(username);
+        user.setEmail(username + "@tribenet.org");
+        user.setPassword("{noop}password");
+        user.setRole(role);
+        return user;
+    }
+
+    /** A free club in the Testing category, as submitted to {@code ClubService.createClub}. */
+    public static ClubCreateDTO newClub(String name) {
+        ClubCreateDTO dto = new ClubCreateDTO();
+        dto.setName(name);
+        dto.setDescription("Created by a test");
+        dto.setCategory("Testing");
+        dto.setFree(true);
+        return dto;
+    }
+
+    /** A free Technology club with the given id, for tests that never touch the database. */
+    public static Club club(Long id) {
+        Club club = new Club();
+        club.setId(id);
+        club.setName("Club " + id);
+        club.setCategory("Technology");
+        club.setFree(true);
+        return club;
+    }
+}
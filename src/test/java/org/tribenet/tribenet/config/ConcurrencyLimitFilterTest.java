@@ -0,0 +1,106 @@
+package org.tribenet.tribenet.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.tribenet.tribenet.model.Role;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Each test holds one request in flight by issuing the next one from inside
+ * its filter chain, with a limit of two of which one is reserved for the
+ * priority lane.
+ */
+class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = filter(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void requestBeyondTheGroupsLimitIsShedWithRetryAfter() throws Exception {
+        MockHttpServletResponse shed = whileInFlight("/api/v1/clubs/1", "/api/v1/clubs/2");
+
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(shed.getContentAsString()).isEqualTo("{\"error\":\"Server is busy, please retry shortly\"}");
+        assertThat(meterRegistry.get("tribenet.concurrency.rejected")
+                .tag("group", "default").tag("lane", "standard").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void groupsHaveTheirOwnLimits() throws Exception {
+        assertThat(whileInFlight("/api/v1/clubs/1/members", "/api/v1/clubs/1").getStatus()).isEqualTo(200);
+        assertThat(whileInFlight("/api/v1/users", "/api/v1/me/dashboard").getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    void adminsAndPaymentsUseThePriorityLane() throws Exception {
+        assertThat(whileInFlight("/api/v1/payments/history", "/api/v1/payments/create-order").getStatus())
+                .isEqualTo(200);
+
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "admin", null, AuthorityUtils.createAuthorityList(Role.ADMIN.name())));
+        assertThat(whileInFlight("/api/v1/clubs/1", "/api/v1/clubs/2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void completedRequestsFreeTheirSlot() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(perform("/api/v1/clubs/1", (request, response) -> {
+            }).getStatus()).isEqualTo(200);
+        }
+        assertThat(meterRegistry.get("tribenet.concurrency.inflight").tag("group", "default").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    void onlyApiRequestsAreLimitedAndOnlyWhenEnabled() throws Exception {
+        assertThat(whileInFlight("/api/v1/clubs/1", "/index.html").getStatus()).isEqualTo(200);
+
+        filter = filter(false);
+        assertThat(whileInFlight("/api/v1/clubs/1", "/api/v1/clubs/2").getStatus()).isEqualTo(200);
+    }
+
+    /** Performs {@code inner} while {@code outer} is still in flight and returns the inner response. */
+    private MockHttpServletResponse whileInFlight(String outer, String inner) throws Exception {
+        AtomicReference<MockHttpServletResponse> innerResponse = new AtomicReference<>();
+        perform(outer, (request, response) -> innerResponse.set(perform(inner, (req, res) -> {
+        })));
+        return innerResponse.get();
+    }
+
+    private MockHttpServletResponse perform(String uri, FilterChain chain) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", uri), response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private ConcurrencyLimitFilter filter(boolean enabled) {
+        return new ConcurrencyLimitFilter(meterRegistry, enabled, 2, 1, 2, 0.9, 2.0, 10, 0.5);
+    }
+}
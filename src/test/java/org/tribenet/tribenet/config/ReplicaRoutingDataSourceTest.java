@@ -0,0 +1,123 @@
+package org.tribenet.tribenet.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing against two separate in-memory databases, each holding a row that
+ * names it, so every read shows which pool served it.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate routedJdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("routing_primary");
+        DataSource replica = database("routing_replica");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("CREATE TABLE replication_status (lag BIGINT)");
+        replicaJdbc.update("INSERT INTO replication_status VALUES (0)");
+
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(60_000);
+        lagMonitor = new ReplicaLagMonitor(replica, tracker,
+                "SELECT lag AS Seconds_Behind_Source FROM replication_status", "Seconds_Behind_Source", 2);
+        lagMonitor.checkLag();
+
+        DataSource routed = new DataSourceRoutingConfig().dataSource(primary, replica, lagMonitor, tracker);
+        routedJdbc = new JdbcTemplate(routed);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routed);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primaryJdbc.execute("DROP ALL OBJECTS");
+        replicaJdbc.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertThat(node(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransactionsAndNonTransactionalReadsUsePrimary() {
+        assertThat(node(readWrite)).isEqualTo("primary");
+        assertThat(routedJdbc.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void lagBeyondLimitFallsBackToPrimaryUntilReplicaCatchesUp() {
+        replicaJdbc.update("UPDATE replication_status SET lag = 30");
+        lagMonitor.checkLag();
+        assertThat(lagMonitor.isReplicaHealthy()).isFalse();
+        assertThat(node(readOnly)).isEqualTo("primary");
+
+        replicaJdbc.update("UPDATE replication_status SET lag = 1");
+        lagMonitor.checkLag();
+        assertThat(node(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void failingLagQueryFallsBackToPrimary() {
+        replicaJdbc.execute("DROP TABLE replication_status");
+        lagMonitor.checkLag();
+        assertThat(node(readOnly)).isEqualTo("primary");
+    }
+
+    @Test
+    void pinnedReadsUsePrimaryOnlyWhilePinned() {
+        assertThat(ReplicaRoutingDataSource.onPrimary(() -> node(readOnly))).isEqualTo("primary");
+        assertThat(node(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void writerReadsOwnWritesFromPrimaryWhileOthersUseReplica() {
+        authenticate("alice");
+        readWrite.executeWithoutResult(status -> routedJdbc.update("UPDATE node SET name = name"));
+        assertThat(node(readOnly)).isEqualTo("primary");
+
+        authenticate("bob");
+        assertThat(node(readOnly)).isEqualTo("replica");
+    }
+
+    private String node(TransactionTemplate transaction) {
+        return transaction.execute(status -> routedJdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbc.update("INSERT INTO node VALUES (?)", name.substring(name.indexOf('_') + 1));
+        return dataSource;
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, AuthorityUtils.NO_AUTHORITIES));
+    }
+}
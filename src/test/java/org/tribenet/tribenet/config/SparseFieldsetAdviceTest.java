@@ -0,0 +1,102 @@
+package org.tribenet.tribenet.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.tribenet.tribenet.dto.ClubCreateDTO;
+import org.tribenet.tribenet.model.Role;
+import org.tribenet.tribenet.model.User;
+import org.tribenet.tribenet.repository.UserRepo;
+import org.tribenet.tribenet.service.ClubService;
+import org.tribenet.tribenet.utility.JwtUtil;
+
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasKey;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SparseFieldsetAdviceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ClubService clubService;
+
+    private String token;
+    private Long clubId;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepo.findByUsername("sparsefields");
+        if (user == null) {
+            user = new User();
+            user.setName("Sparse fields");
+            user.setUsername("sparsefields");
+            user.setEmail("sparsefields@tribenet.org");
+            user.setPassword("{noop}password");
+            user.setRole(Role.USER);
+            user = userRepo.save(user);
+        }
+        token = "Bearer " + jwtUtil.generateToken(user.getUsername(), user.getRole().name());
+
+        ClubCreateDTO dto = new ClubCreateDTO();
+        dto.setName("Sparse club");
+        dto.setDescription("Has more fields than asked for");
+        dto.setCategory("Testing");
+        dto.setFree(true);
+        clubId = clubService.createClub(dto, user).getId();
+    }
+
+    @Test
+    void listIsLimitedToTheRequestedFields() throws Exception {
+        mockMvc.perform(get("/api/v1/clubs").param("fields", "id,name").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*]", everyItem(aMapWithSize(2))))
+                .andExpect(jsonPath("$[*]", everyItem(hasKey("name"))));
+    }
+
+    @Test
+    void repeatedParametersAndUnknownNamesAreAccepted() throws Exception {
+        mockMvc.perform(get("/api/v1/clubs").param("fields", "name, bogus").param("fields", "category")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*]", everyItem(aMapWithSize(2))))
+                .andExpect(jsonPath("$[*]", everyItem(hasKey("category"))));
+    }
+
+    @Test
+    void wrapperKeepsItsOwnProperties() throws Exception {
+        mockMvc.perform(get("/api/v1/clubs/batch").param("ids", clubId + ",-1").param("fields", "name")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0]", aMapWithSize(1)))
+                .andExpect(jsonPath("$.items[0].name").value("Sparse club"))
+                .andExpect(jsonPath("$.missing[0]").value(-1));
+    }
+
+    @Test
+    void withoutFieldsEverythingIsWritten() throws Exception {
+        mockMvc.perform(get("/api/v1/clubs/batch").param("ids", clubId.toString())
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].description").value("Has more fields than asked for"))
+                .andExpect(jsonPath("$.items[0].category").value("Testing"));
+    }
+}
@@ -0,0 +1,140 @@
+package org.tribenet.tribenet.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tribenet.tribenet.model.Role;
+import org.tribenet.tribenet.model.User;
+import org.tribenet.tribenet.repository.JdbcReadRepo;
+import org.tribenet.tribenet.repository.UserRepo;
+import org.tribenet.tribenet.utility.JwtUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlQueryDetectorTest {
+
+    @Autowired
+    private SqlQueryDetector detector;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private JdbcReadRepo jdbcReadRepo;
+
+    @Autowired
+    private TransactionTemplate transaction;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementInspector.end();
+    }
+
+    @Test
+    void loadingRowsOneByOneFailsAtTheRepeatedStatement() {
+        List<Long> ids = createUsers("nplusone", 6);
+
+        SqlStatementInspector.begin(detector);
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> ids.forEach(userRepo::findById)))
+                .isInstanceOf(SqlQueryDetector.SqlBudgetExceededException.class)
+                .hasMessageStartingWith("N+1 suspected, 5x");
+    }
+
+    @Test
+    void loadingRowsInOneQueryPasses() {
+        List<Long> ids = createUsers("batched", 6);
+
+        SqlStatementInspector.begin(detector);
+        List<User> users = transaction.execute(status -> userRepo.findAllById(ids));
+
+        assertThat(users).hasSize(6);
+        assertThat(SqlStatementInspector.end().statements()).isEqualTo(1);
+    }
+
+    @Test
+    void plainJdbcReadsCountTowardsTheRequest() {
+        Long userId = createUsers("jdbcread", 1).get(0);
+
+        SqlStatementInspector.begin(detector);
+        transaction.executeWithoutResult(status -> jdbcReadRepo.findPaymentsByUserId(userId));
+
+        SqlStatementInspector.RequestSqlStats stats = SqlStatementInspector.end();
+        assertThat(stats.statements()).isEqualTo(1);
+        assertThat(stats.shapes().keySet()).singleElement().asString().contains("FROM payments");
+    }
+
+    @Test
+    void statementCountOverBudgetFails() {
+        SqlStatementInspector inspector = new SqlStatementInspector();
+        SqlStatementInspector.begin(detector);
+        for (int i = 0; i < 20; i++) {
+            inspector.inspect("select * from table_" + (char) ('a' + i));
+        }
+
+        assertThatThrownBy(() -> inspector.inspect("select * from one_too_many"))
+                .isInstanceOf(SqlQueryDetector.SqlBudgetExceededException.class)
+                .hasMessage("21 statements exceed the budget of 20");
+    }
+
+    @Test
+    void slowRequestIsReportedWithoutFailing() {
+        SqlStatementInspector.begin(detector);
+        SqlStatementInspector.RequestSqlStats stats = SqlStatementInspector.end();
+
+        assertThatCode(() -> detector.inspect("GET /api/v1/clubs", stats, 60_000)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void statementsOfTheAuthenticationFilterCountTowardsTheRequest() throws Exception {
+        User user = userRepo.findById(createUsers("filterorder", 1).get(0)).orElseThrow();
+        String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
+
+        mockMvc.perform(get("/api/v1/clubs/facets").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("tribenet.http.sql.statements")
+                .tag("uri", "/api/v1/clubs/facets")
+                .summary();
+        assertThat(statements.max()).isGreaterThanOrEqualTo(1);
+    }
+
+    private List<Long> createUsers(String prefix, int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setName(prefix + " " + i);
+            user.setUsername(prefix + i);
+            user.setEmail(prefix + i + "@tribenet.org");
+            user.setPassword("{noop}password");
+            user.setRole(Role.USER);
+            ids.add(userRepo.save(user).getId());
+        }
+        return ids;
+    }
+}
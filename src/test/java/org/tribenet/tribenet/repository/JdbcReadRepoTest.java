@@ -0,0 +1,156 @@
+package org.tribenet.tribenet.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.tribenet.tribenet.dto.MemberResponseDTO;
+import org.tribenet.tribenet.dto.PaymentResponse;
+import org.tribenet.tribenet.dto.UserResponseDTO;
+import org.tribenet.tribenet.model.Payment;
+import org.tribenet.tribenet.model.PaymentStatus;
+import org.tribenet.tribenet.model.Role;
+import org.tribenet.tribenet.model.User;
+import org.tribenet.tribenet.service.ClubService;
+import org.tribenet.tribenet.service.PaymentService;
+import org.tribenet.tribenet.service.UserService;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.tribenet.tribenet.TestFixtures.newClub;
+import static org.tribenet.tribenet.TestFixtures.user;
+
+/**
+ * Runs each read through the JDBC path and, with {@code tribenet.jdbc-reads.queries}
+ * emptied on the shared bean for the call, through the JPA fallback, and expects the
+ * same DTOs from both.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class JdbcReadRepoTest {
+
+    @Autowired
+    private JdbcReadRepo jdbcReadRepo;
+
+    @Autowired
+    private ClubService clubService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User admin;
+    private Long clubId;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepo.findByUsername("jdbcreadadmin");
+        if (admin != null) {
+            clubId = jdbcTemplate.queryForObject("SELECT id FROM clubs WHERE name = 'JDBC read parity'", Long.class);
+            return;
+        }
+        admin = userRepo.save(user("jdbcreadadmin", Role.ADMIN));
+        User member = userRepo.save(user("jdbcreadmember", Role.USER));
+        User deleted = userRepo.save(user("jdbcreaddeleted", Role.USER));
+
+        clubId = clubService.createClub(newClub("JDBC read parity"), admin).getId();
+        clubService.joinClub(clubId, member);
+        clubService.joinClub(clubId, deleted);
+        jdbcTemplate.update("UPDATE users SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?", deleted.getId());
+
+        payment(admin, "order_jdbc_1", new BigDecimal("499.00"), PaymentStatus.SUCCESS);
+        payment(admin, "order_jdbc_2", new BigDecimal("1250.50"), PaymentStatus.PENDING);
+    }
+
+    @Test
+    void membersMatchAndLeaveOutSoftDeletedUsers() {
+        List<MemberResponseDTO> jdbc = viaJdbc(JdbcReadRepo.MEMBERS, () -> clubService.getClubMembers(clubId));
+        List<MemberResponseDTO> jpa = viaJpa(() -> clubService.getClubMembers(clubId));
+
+        assertThat(jdbc).hasSize(2).containsExactlyInAnyOrderElementsOf(jpa);
+        assertThat(jdbc).extracting(MemberResponseDTO::getUsername)
+                .containsExactlyInAnyOrder("jdbcreadadmin", "jdbcreadmember");
+        assertThat(jdbc).extracting(MemberResponseDTO::getClubRole).containsExactlyInAnyOrder("ADMIN", "MEMBER");
+        assertThat(jdbc).allSatisfy(member -> assertThat(member.getJoinedAt()).isNotNull());
+    }
+
+    @Test
+    void usersMatchAndLeaveOutSoftDeletedUsers() {
+        Authentication auth = authenticate("jdbcreadmember");
+        List<UserResponseDTO> jdbc = viaJdbc(JdbcReadRepo.USERS, () -> userService.getAllUsers(auth));
+        List<UserResponseDTO> jpa = viaJpa(() -> userService.getAllUsers(auth));
+
+        assertThat(jdbc).isNotEmpty().containsExactlyInAnyOrderElementsOf(jpa);
+        assertThat(jdbc).extracting(UserResponseDTO::getUsername)
+                .contains("jdbcreadadmin")
+                .doesNotContain("jdbcreadmember", "jdbcreaddeleted");
+        assertThat(jdbc).filteredOn(user -> user.getUsername().equals("jdbcreadadmin"))
+                .extracting(UserResponseDTO::getRole).containsExactly("ADMIN");
+    }
+
+    @Test
+    void paymentsMatch() {
+        List<PaymentResponse> jdbc = viaJdbc(JdbcReadRepo.PAYMENTS, () -> paymentService.getPaymentsByUserId(admin.getId()));
+        List<PaymentResponse> jpa = viaJpa(() -> paymentService.getPaymentsByUserId(admin.getId()));
+
+        assertThat(jdbc).hasSize(2).containsExactlyInAnyOrderElementsOf(jpa);
+        assertThat(jdbc).extracting(PaymentResponse::getStatus).containsExactlyInAnyOrder("SUCCESS", "PENDING");
+        assertThat(jdbc).allSatisfy(payment -> assertThat(payment.getCreatedAt()).isNotNull());
+    }
+
+    private <T> List<T> viaJdbc(String read, Supplier<List<T>> query) {
+        assertThat(jdbcReadRepo.serves(read)).isTrue();
+        return query.get();
+    }
+
+    private <T> List<T> viaJpa(Supplier<List<T>> query) {
+        JdbcReadRepo target = AopTestUtils.getTargetObject(jdbcReadRepo);
+        Object enabled = ReflectionTestUtils.getField(target, "enabled");
+        ReflectionTestUtils.setField(target, "enabled", Set.of());
+        try {
+            return query.get();
+        } finally {
+            ReflectionTestUtils.setField(target, "enabled", enabled);
+        }
+    }
+
+    private Authentication authenticate(String username) {
+        UserDetails principal = userService.loadUserByUsername(username);
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+    }
+
+    private void payment(User user, String orderId, BigDecimal amount, PaymentStatus status) {
+        Payment payment = new Payment();
+        payment.setOrderId(orderId);
+        payment.setPaymentId("pay_" + orderId);
+        payment.setAmount(amount);
+        payment.setCurrency("INR");
+        payment.setUserId(user.getId());
+        payment = paymentRepository.save(payment);
+        // Saved as PENDING; the status moves on through an update, as after verification
+        payment.setStatus(status);
+        paymentRepository.save(payment);
+    }
+}
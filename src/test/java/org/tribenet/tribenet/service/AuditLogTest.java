@@ -0,0 +1,240 @@
+package org.tribenet.tribenet.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tribenet.tribenet.model.AuditAction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against its own in-memory H2 table. The club id 13 is rejected by a
+ * check constraint, which stands in for a record the database will not take,
+ * and {@link #outage} makes every new connection fail.
+ */
+class AuditLogTest {
+
+    private static final long POISON_CLUB = 13;
+
+    private final DriverManagerDataSource dataSource =
+            new DriverManagerDataSource("jdbc:h2:mem:audit_log_test;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    private final AtomicInteger refusedConnections = new AtomicInteger();
+    private volatile boolean outage;
+    private final DelegatingDataSource flakyDataSource = new DelegatingDataSource(dataSource) {
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (outage) {
+                refusedConnections.incrementAndGet();
+                throw new SQLTransientConnectionException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    };
+    private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(flakyDataSource);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditLog auditLog;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (auditLog != null) {
+            auditLog.shutdown();
+        }
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void recordOutsideATransactionIsWritten() {
+        createTable();
+        auditLog = auditLog(8, AuditLog.Backpressure.DROP, 3);
+
+        auditLog.record(AuditAction.CLUB_DELETED, 1L, null, 5L);
+
+        await(() -> rows() == 1);
+        assertThat(jdbc.queryForMap("SELECT action, actor_id, user_id, club_id FROM audit_log"))
+                .containsEntry("ACTION", "CLUB_DELETED")
+                .containsEntry("ACTOR_ID", 1L)
+                .containsEntry("USER_ID", null)
+                .containsEntry("CLUB_ID", 5L);
+    }
+
+    @Test
+    void recordsInATransactionAreEnqueuedOnCommitThroughOneSynchronization() {
+        createTable();
+        auditLog = auditLog(8, AuditLog.Backpressure.DROP, 3);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            auditLog.record(AuditAction.MEMBER_PROMOTED, 1L, 2L, 3L);
+            auditLog.record(AuditAction.MEMBER_REMOVED, 1L, 4L, 3L);
+            auditLog.record(AuditAction.MEMBER_REMOVED, 1L, 5L, 3L);
+            assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+            assertThat(auditLog.pending()).isZero();
+        });
+
+        await(() -> rows() == 3);
+    }
+
+    @Test
+    void recordsOfARolledBackTransactionAreDiscarded() {
+        createTable();
+        auditLog = auditLog(8, AuditLog.Backpressure.DROP, 3);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            auditLog.record(AuditAction.USER_DELETED, 1L, 2L, null);
+            status.setRollbackOnly();
+        });
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                auditLog.record(AuditAction.USER_DELETED, 1L, 3L, null));
+
+        await(() -> rows() == 1);
+        assertThat(jdbc.queryForObject("SELECT user_id FROM audit_log", Long.class)).isEqualTo(3L);
+    }
+
+    @Test
+    void nullActorIsWrittenAsNull() {
+        createTable();
+        auditLog = auditLog(8, AuditLog.Backpressure.DROP, 3);
+
+        auditLog.record(AuditAction.USER_DELETED, null, 2L, null);
+
+        await(() -> rows() == 1);
+        assertThat(jdbc.queryForList("SELECT actor_id FROM audit_log", Long.class)).containsOnlyNulls();
+    }
+
+    @Test
+    void failingRecordIsDeadLetteredAndTheRestOfItsBatchWritten() {
+        createTable();
+        auditLog = auditLog(16, AuditLog.Backpressure.DROP, 2);
+
+        for (long club = 10; club < 18; club++) {
+            auditLog.enqueue(AuditAction.MEMBER_REMOVED, 1, 2, club, System.currentTimeMillis());
+        }
+
+        await(() -> auditLog.pending() == 0);
+        List<Long> clubs = jdbc.queryForList("SELECT club_id FROM audit_log ORDER BY club_id", Long.class);
+        assertThat(clubs).containsExactly(10L, 11L, 12L, 14L, 15L, 16L, 17L);
+        assertThat(meterRegistry.get("tribenet.audit.dead-lettered").counter().count()).isEqualTo(1);
+
+        auditLog.record(AuditAction.MEMBER_REMOVED, 1L, 2L, 18L);
+        await(() -> rows() == 8);
+    }
+
+    @Test
+    void outageIsRetriedUntilTheDatabaseIsBackWithoutDeadLettering() {
+        createTable();
+        outage = true;
+        auditLog = auditLog(16, AuditLog.Backpressure.DROP, 1);
+
+        for (long user = 1; user <= 3; user++) {
+            auditLog.record(AuditAction.USER_DELETED, 1L, user, null);
+        }
+        await(() -> refusedConnections.get() >= 5);
+        assertThat(auditLog.pending()).isEqualTo(3);
+        assertThat(meterRegistry.get("tribenet.audit.dead-lettered").counter().count()).isZero();
+
+        outage = false;
+        await(() -> rows() == 3);
+        assertThat(meterRegistry.get("tribenet.audit.dead-lettered").counter().count()).isZero();
+    }
+
+    @Test
+    void shutdownFlushesPendingRecordsAndLaterRecordsAreDropped() throws InterruptedException {
+        createTable();
+        auditLog = auditLog(16, 60_000, AuditLog.Backpressure.DROP, 3);
+        // Let the writer find the ring empty and park for the flush interval
+        Thread.sleep(200);
+
+        for (long user = 1; user <= 5; user++) {
+            auditLog.record(AuditAction.USER_DELETED, 1L, user, null);
+        }
+        assertThat(rows()).isZero();
+        auditLog.shutdown();
+
+        assertThat(rows()).isEqualTo(5);
+        assertThat(auditLog.pending()).isZero();
+
+        auditLog.record(AuditAction.USER_DELETED, 1L, 6L, null);
+        assertThat(auditLog.pending()).isZero();
+        assertThat(meterRegistry.get("tribenet.audit.dropped").counter().count()).isEqualTo(1);
+        assertThat(rows()).isEqualTo(5);
+    }
+
+    @Test
+    void fullRingDropsUntilTheWriterCatchesUp() {
+        auditLog = auditLog(4, AuditLog.Backpressure.DROP, Integer.MAX_VALUE);
+
+        for (long user = 1; user <= 6; user++) {
+            auditLog.record(AuditAction.USER_DELETED, 1L, user, null);
+        }
+        assertThat(auditLog.pending()).isEqualTo(4);
+        assertThat(meterRegistry.get("tribenet.audit.dropped").counter().count()).isEqualTo(2);
+
+        createTable();
+        await(() -> rows() == 4);
+    }
+
+    @Test
+    void blockWaitsForTheTimeoutBeforeDropping() {
+        auditLog = auditLog(2, AuditLog.Backpressure.BLOCK, Integer.MAX_VALUE);
+        assertThat(auditLog.enqueue(AuditAction.USER_DELETED, 1, 1, 0, 0)).isTrue();
+        assertThat(auditLog.enqueue(AuditAction.USER_DELETED, 1, 2, 0, 0)).isTrue();
+
+        long started = System.nanoTime();
+        assertThat(auditLog.enqueue(AuditAction.USER_DELETED, 1, 3, 0, 0)).isFalse();
+
+        assertThat(System.nanoTime() - started).isGreaterThanOrEqualTo(50_000_000L);
+        assertThat(meterRegistry.get("tribenet.audit.dropped").counter().count()).isEqualTo(1);
+    }
+
+    private AuditLog auditLog(int capacity, AuditLog.Backpressure backpressure, int maxAttempts) {
+        return auditLog(capacity, 10, backpressure, maxAttempts);
+    }
+
+    private AuditLog auditLog(int capacity, long flushIntervalMillis, AuditLog.Backpressure backpressure,
+                              int maxAttempts) {
+        return new AuditLog(flakyDataSource, transactionManager, meterRegistry, capacity, 500, flushIntervalMillis,
+                backpressure, 50, maxAttempts, 10);
+    }
+
+    private void createTable() {
+        jdbc.execute("CREATE TABLE audit_log (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "action VARCHAR(32) NOT NULL, actor_id BIGINT, user_id BIGINT, club_id BIGINT, "
+                + "occurred_at TIMESTAMP NOT NULL, CHECK (club_id IS NULL OR club_id <> " + POISON_CLUB + "))");
+    }
+
+    private long rows() {
+        try {
+            return jdbc.queryForObject("SELECT COUNT(*) FROM audit_log", Long.class);
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new AssertionError("Condition not met within 10s");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.tribenet.tribenet.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tribenet.tribenet.TribeNetApplication;
+import org.tribenet.tribenet.config.CacheConfig;
+import org.tribenet.tribenet.dto.ClubUpdateDTO;
+import org.tribenet.tribenet.model.Role;
+import org.tribenet.tribenet.model.User;
+import org.tribenet.tribenet.repository.UserRepo;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.tribenet.tribenet.TestFixtures.newClub;
+import static org.tribenet.tribenet.TestFixtures.user;
+
+/**
+ * Two application contexts on one database: the test context is node A, and
+ * node B is started next to it without touching the schema. Writes on A must
+ * evict the entries B cached once B has polled {@code cache_changes}; B only
+ * polls when the test says so, and moves past a gap in ids at once.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CacheInvalidationBusTest {
+
+    private static ConfigurableApplicationContext nodeB;
+
+    @Autowired
+    private ClubService clubService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void startNodeB() {
+        if (nodeB == null) {
+            // Command-line arguments, since the test profile's create-drop would
+            // otherwise win and drop the shared schema when node B closes
+            nodeB = new SpringApplicationBuilder(TribeNetApplication.class)
+                    .profiles("test")
+                    .run("--spring.jpa.hibernate.ddl-auto=none", "--server.port=0",
+                            "--tribenet.cache.invalidation.poll-interval-ms=3600000",
+                            "--tribenet.cache.invalidation.gap-timeout-ms=0");
+        }
+    }
+
+    @AfterAll
+    static void stopNodeB() {
+        if (nodeB != null) {
+            nodeB.close();
+            nodeB = null;
+        }
+    }
+
+    @Test
+    void clubUpdateOnOneNodeEvictsTheOtherNodesClubDetails() {
+        User creator = userRepo.save(user("busclubcreator", Role.USER));
+        Long clubId = clubService.createClub(newClub("Before"), creator).getId();
+        ClubService clubServiceB = nodeB.getBean(ClubService.class);
+
+        assertThat(clubServiceB.getClubById(clubId).getName()).isEqualTo("Before");
+        assertThat(nodeB.getBean(CacheManager.class).getCache(CacheConfig.CLUB_DETAILS).get(clubId.toString()))
+                .isNotNull();
+
+        ClubUpdateDTO update = new ClubUpdateDTO();
+        update.setName("After");
+        clubService.updateClub(clubId, update, creator);
+        assertThat(clubServiceB.getClubById(clubId).getName()).isEqualTo("Before");
+
+        nodeB.getBean(CacheInvalidationBus.class).poll();
+        assertThat(clubServiceB.getClubById(clubId).getName()).isEqualTo("After");
+    }
+
+    @Test
+    void userDeletionOnOneNodeEvictsTheOtherNodesPrincipal() {
+        User admin = userRepo.save(user("busadmin", Role.ADMIN));
+        User user = userRepo.save(user("busdeleted", Role.USER));
+        UserService userServiceB = nodeB.getBean(UserService.class);
+
+        assertThat(userServiceB.loadUserByUsername("busdeleted").getUsername()).isEqualTo("busdeleted");
+
+        adminService.deleteUser(user.getId(), admin);
+        assertThat(userServiceB.loadUserByUsername("busdeleted")).isNotNull();
+
+        nodeB.getBean(CacheInvalidationBus.class).poll();
+        assertThatThrownBy(() -> userServiceB.loadUserByUsername("busdeleted"))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    @Test
+    void changeCommittedAfterTheCursorMovedPastItIsStillEvicted() throws Exception {
+        User creator = userRepo.save(user("busgapcreator", Role.USER));
+        Long slowClubId = clubService.createClub(newClub("Slow"), creator).getId();
+        Long fastClubId = clubService.createClub(newClub("Fast"), creator).getId();
+        CacheInvalidationBus busB = nodeB.getBean(CacheInvalidationBus.class);
+        busB.poll();
+        nodeB.getBean(ClubService.class).getClubById(slowClubId);
+        Cache clubDetailsB = nodeB.getBean(CacheManager.class).getCache(CacheConfig.CLUB_DETAILS);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Takes an id now but stays invisible until this transaction commits
+            cacheInvalidationBus.invalidate(CacheConfig.CLUB_DETAILS, slowClubId);
+            CompletableFuture.runAsync(() -> {
+                cacheInvalidationBus.invalidate(CacheConfig.CLUB_DETAILS, fastClubId);
+                busB.poll();
+            }).orTimeout(10, TimeUnit.SECONDS).join();
+            assertThat(clubDetailsB.get(slowClubId.toString())).isNotNull();
+        });
+
+        busB.poll();
+        assertThat(clubDetailsB.get(slowClubId.toString())).isNull();
+    }
+}
@@ -0,0 +1,139 @@
+package org.tribenet.tribenet.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.tribenet.tribenet.model.Role;
+import org.tribenet.tribenet.model.User;
+import org.tribenet.tribenet.repository.UserRepo;
+import org.tribenet.tribenet.utility.JwtUtil;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.tribenet.tribenet.TestFixtures.newClub;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ClubCatalogServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ClubService clubService;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepo.findByUsername("catalogreader");
+        if (user == null) {
+            user = new User();
+            user.setName("Catalog reader");
+            user.setUsername("catalogreader");
+            user.setEmail("catalogreader@tribenet.org");
+            user.setPassword("{noop}password");
+            user.setRole(Role.USER);
+            user = userRepo.save(user);
+        }
+        token = "Bearer " + jwtUtil.generateToken(user.getUsername(), user.getRole().name());
+    }
+
+    @Test
+    void matchingETagGets304() throws Exception {
+        MvcResult first = catalog(null, null);
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        assertThat(first.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+
+        mockMvc.perform(get("/api/v1/clubs").header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void gzipHasItsOwnETagAndDecodesToTheSameJson() throws Exception {
+        MvcResult plain = catalog(null, null);
+        MvcResult gzip = catalog("gzip, deflate, br", null);
+
+        assertThat(gzip.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getResponse().getHeader(HttpHeaders.ETAG))
+                .isNotEqualTo(plain.getResponse().getHeader(HttpHeaders.ETAG));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getResponse().getContentAsByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.getResponse().getContentAsByteArray());
+        }
+
+        mockMvc.perform(get("/api/v1/clubs").header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzip.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void acceptEncodingQValuesAreHonoured() throws Exception {
+        assertThat(encoding("gzip;q=0")).isNull();
+        assertThat(encoding("br, gzip; q=0.0")).isNull();
+        assertThat(encoding("gzip;q=0, *")).isNull();
+        assertThat(encoding("identity, gzip;q=0.5")).isEqualTo("gzip");
+        assertThat(encoding("*;q=0.1")).isEqualTo("gzip");
+        assertThat(encoding("br")).isNull();
+    }
+
+    @Test
+    void clubChangeChangesTheETag() throws Exception {
+        String before = catalog(null, null).getResponse().getHeader(HttpHeaders.ETAG);
+
+        clubService.createClub(newClub("Catalog change"), user);
+
+        MvcResult after = catalog(null, before);
+        assertThat(after.getResponse().getStatus()).isEqualTo(200);
+        assertThat(after.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(before);
+        assertThat(after.getResponse().getContentAsString()).contains("Catalog change");
+    }
+
+    @Test
+    void catalogOfManyClubsCountsMembersInOneQuery() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            clubService.createClub(newClub("Catalog club " + i), user);
+        }
+
+        assertThat(catalog(null, null).getResponse().getStatus()).isEqualTo(200);
+    }
+
+    private String encoding(String acceptEncoding) throws Exception {
+        return catalog(acceptEncoding, null).getResponse().getHeader(HttpHeaders.CONTENT_ENCODING);
+    }
+
+    private MvcResult catalog(String acceptEncoding, String ifNoneMatch) throws Exception {
+        var request = get("/api/v1/clubs").header(HttpHeaders.AUTHORIZATION, token);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request)
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+    }
+}
@@ -0,0 +1,108 @@
+package org.tribenet.tribenet.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.tribenet.tribenet.event.MembershipEvent;
+import org.tribenet.tribenet.event.MembershipEventType;
+import org.tribenet.tribenet.repository.ClubRepo;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ClubEventStreamServiceTest {
+
+    private static final String SUBSCRIBED = ":subscribed\n\n";
+    private static final String JOINED = "event:joined\ndata:{\"clubId\":1,\"userId\":10,\"type\":\"joined\",\"memberCountDelta\":1}\n\n";
+    private static final String LEFT = "event:left\ndata:{\"clubId\":1,\"userId\":11,\"type\":\"left\",\"memberCountDelta\":-1}\n\n";
+
+    private ClubEventStreamService service;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ClubRepo clubRepo = mock(ClubRepo.class);
+        when(clubRepo.existsById(anyLong())).thenReturn(true);
+        service = new ClubEventStreamService(clubRepo, JsonMapper.builder().build(), new SimpleMeterRegistry(),
+                60_000, 16);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EventsController(service)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void everySubscriberGetsEachEventExactlyOnce() throws Exception {
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            responses.add(subscribe(1L));
+        }
+
+        service.onMembershipChanged(new MembershipEvent(1L, 10L, MembershipEventType.JOINED));
+        service.onMembershipChanged(new MembershipEvent(1L, 11L, MembershipEventType.LEFT));
+
+        for (MockHttpServletResponse response : responses) {
+            assertThat(awaitContent(response, SUBSCRIBED + JOINED + LEFT)).isEqualTo(SUBSCRIBED + JOINED + LEFT);
+        }
+    }
+
+    @Test
+    void eventsOnlyReachTheirClub() throws Exception {
+        MockHttpServletResponse other = subscribe(2L);
+
+        service.onMembershipChanged(new MembershipEvent(1L, 10L, MembershipEventType.JOINED));
+        MockHttpServletResponse late = subscribe(1L);
+        service.onMembershipChanged(new MembershipEvent(1L, 11L, MembershipEventType.LEFT));
+
+        assertThat(awaitContent(late, SUBSCRIBED + LEFT)).isEqualTo(SUBSCRIBED + LEFT);
+        assertThat(other.getContentAsString()).isEqualTo(SUBSCRIBED);
+    }
+
+    private MockHttpServletResponse subscribe(Long clubId) throws Exception {
+        return mockMvc.perform(get("/events/{clubId}", clubId))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!response.getContentAsString().equals(expected) && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+        return response.getContentAsString();
+    }
+
+    @RestController
+    static class EventsController {
+
+        private final ClubEventStreamService service;
+
+        EventsController(ClubEventStreamService service) {
+            this.service = service;
+        }
+
+        @GetMapping("/events/{clubId}")
+        SseEmitter events(@PathVariable Long clubId) {
+            return service.subscribe(clubId);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.tribenet.tribenet.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.tribenet.tribenet.dto.CategoryFacetDTO;
+import org.tribenet.tribenet.event.ClubCreatedEvent;
+import org.tribenet.tribenet.event.ClubDeletedEvent;
+import org.tribenet.tribenet.event.ClubUpdatedEvent;
+import org.tribenet.tribenet.event.MembershipEvent;
+import org.tribenet.tribenet.event.MembershipEventType;
+import org.tribenet.tribenet.repository.ClubFacetRow;
+import org.tribenet.tribenet.repository.ClubRepo;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClubFacetServiceTest {
+
+    private ClubRepo clubRepo;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private ClubFacetService service;
+
+    @BeforeEach
+    void setUp() {
+        clubRepo = mock(ClubRepo.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ClubFacetService(clubRepo, transactionManager, meterRegistry);
+        when(clubRepo.streamFacetRows()).thenAnswer(invocation -> Stream.of(
+                row(1L, "Chess", true, 3), row(2L, "Chess", false, 2), row(3L, "Hiking", true, 4)));
+        service.rebuild();
+    }
+
+    @Test
+    void loadsCountsPerCategory() {
+        assertThat(service.getFacets()).containsExactly(
+                new CategoryFacetDTO("Chess", 2L, 1L, 1L, 5L),
+                new CategoryFacetDTO("Hiking", 1L, 1L, 0L, 4L));
+    }
+
+    @Test
+    void followsClubAndMembershipEvents() {
+        service.onClubCreated(new ClubCreatedEvent(4L, "Hiking", false));
+        service.onMembershipChanged(new MembershipEvent(4L, 10L, MembershipEventType.JOINED));
+        service.onMembershipChanged(new MembershipEvent(1L, 11L, MembershipEventType.LEFT));
+        service.onMembershipChanged(new MembershipEvent(1L, 12L, MembershipEventType.PROMOTED));
+        service.onClubUpdated(new ClubUpdatedEvent(2L, "Hiking", false));
+        service.onClubDeleted(new ClubDeletedEvent(3L));
+
+        assertThat(service.getFacets()).containsExactly(
+                new CategoryFacetDTO("Hiking", 2L, 0L, 2L, 3L),
+                new CategoryFacetDTO("Chess", 1L, 1L, 0L, 2L));
+    }
+
+    @Test
+    void driftIsCorrectedAndCounted() {
+        service.onMembershipChanged(new MembershipEvent(3L, 10L, MembershipEventType.JOINED));
+
+        service.checkDrift();
+
+        assertThat(service.getFacets()).contains(new CategoryFacetDTO("Hiking", 1L, 1L, 0L, 4L));
+        assertThat(meterRegistry.counter("tribenet.facets.drift.corrections").count()).isEqualTo(1);
+    }
+
+    @Test
+    void eventsDuringTheReloadAreReplayedOntoIt() {
+        when(clubRepo.streamFacetRows()).thenAnswer(invocation -> {
+            // Committed after the snapshot was taken, so the rows below do not include them.
+            service.onMembershipChanged(new MembershipEvent(1L, 10L, MembershipEventType.JOINED));
+            service.onClubCreated(new ClubCreatedEvent(4L, "Cooking", true));
+            service.onClubDeleted(new ClubDeletedEvent(3L));
+            return Stream.of(row(1L, "Chess", true, 3), row(2L, "Chess", false, 2), row(3L, "Hiking", true, 4));
+        });
+
+        service.checkDrift();
+
+        assertThat(service.getFacets()).containsExactly(
+                new CategoryFacetDTO("Chess", 2L, 1L, 1L, 6L),
+                new CategoryFacetDTO("Cooking", 1L, 1L, 0L, 0L));
+        assertThat(meterRegistry.counter("tribenet.facets.drift.corrections").count()).isZero();
+    }
+
+    @Test
+    void replayedClubEventsTheSnapshotAlreadySawAreNotCountedTwice() {
+        when(clubRepo.streamFacetRows()).thenAnswer(invocation -> {
+            service.onClubCreated(new ClubCreatedEvent(4L, "Cooking", true));
+            service.onClubUpdated(new ClubUpdatedEvent(2L, "Hiking", false));
+            return Stream.of(row(1L, "Chess", true, 3), row(2L, "Hiking", false, 2),
+                    row(3L, "Hiking", true, 4), row(4L, "Cooking", true, 0));
+        });
+
+        service.checkDrift();
+
+        assertThat(service.getFacets()).containsExactly(
+                new CategoryFacetDTO("Hiking", 2L, 1L, 1L, 6L),
+                new CategoryFacetDTO("Chess", 1L, 1L, 0L, 3L),
+                new CategoryFacetDTO("Cooking", 1L, 1L, 0L, 0L));
+        assertThat(meterRegistry.counter("tribenet.facets.drift.corrections").count()).isZero();
+    }
+
+    @Test
+    void reloadsFromThePrimary() {
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definition.capture());
+
+        assertThat(definition.getAllValues()).noneMatch(TransactionDefinition::isReadOnly);
+    }
+
+    private static ClubFacetRow row(Long id, String category, boolean free, long members) {
+        return new ClubFacetRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getCategory() {
+                return category;
+            }
+
+            @Override
+            public Boolean getFree() {
+                return free;
+            }
+
+            @Override
+            public Long getMemberCount() {
+                return members;
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package org.tribenet.tribenet.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.tribenet.tribenet.TestFixtures;
+import org.tribenet.tribenet.dto.RecommendedClubDTO;
+import org.tribenet.tribenet.repository.ClubRepo;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClubRecommendationServiceTest {
+
+    private MembershipIndex index;
+    private ClubRecommendationService service;
+
+    @BeforeEach
+    void setUp() {
+        index = new MembershipIndex(null, null);
+        ClubRepo clubRepo = mock(ClubRepo.class);
+        when(clubRepo.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            return StreamSupport.stream(ids.spliterator(), false).map(TestFixtures::club).toList();
+        });
+        service = new ClubRecommendationService(index, clubRepo);
+    }
+
+    @Test
+    void ranksCoMembersClubsByOverlapAndSkipsOwnClubs() {
+        join(1L, 10L);
+        join(2L, 10L, 20L, 30L);
+        join(3L, 10L, 20L);
+        join(4L, 30L, 31L, 32L);
+
+        List<RecommendedClubDTO> recommended = service.recommendClubs(1L, 10);
+
+        assertThat(recommended).extracting(RecommendedClubDTO::getId).containsExactly(20L, 30L);
+        RecommendedClubDTO best = recommended.get(0);
+        assertThat(best.getSharedMembers()).isEqualTo(2);
+        assertThat(best.getMemberCount()).isEqualTo(2);
+        assertThat(best.getScore()).isEqualTo(1.0);
+        assertThat(recommended.get(1).getScore()).isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    void clubsWithoutCoMembersAreNotRecommended() {
+        join(1L, 10L);
+        join(2L, 10L);
+        join(3L, 40L);
+
+        assertThat(service.recommendClubs(1L, 10)).isEmpty();
+    }
+
+    @Test
+    void limitKeepsTheHighestScores() {
+        join(1L, 10L);
+        for (long user = 2; user <= 6; user++) {
+            join(user, 10L);
+            for (long club = 20; club < 20 + user; club++) {
+                join(user, club);
+            }
+        }
+
+        List<RecommendedClubDTO> recommended = service.recommendClubs(1L, 2);
+
+        assertThat(recommended).extracting(RecommendedClubDTO::getId).containsExactly(20L, 21L);
+    }
+
+    @Test
+    void usersWithoutClubsGetTheLargestClubs() {
+        join(2L, 10L, 20L);
+        join(3L, 10L, 20L);
+        join(4L, 20L, 30L);
+
+        assertThat(service.recommendClubs(1L, 2)).extracting(RecommendedClubDTO::getId).containsExactly(20L, 10L);
+    }
+
+    @Test
+    void findsCandidatesThroughLargeClubs() {
+        join(1L, 10L);
+        for (long user = 2; user <= 5_001; user++) {
+            join(user, 10L);
+            if (user % 2 == 0) {
+                join(user, 20L);
+            }
+        }
+        join(5_001L, 30L);
+
+        List<RecommendedClubDTO> recommended = service.recommendClubs(1L, 10);
+
+        assertThat(recommended).first().extracting(RecommendedClubDTO::getId).isEqualTo(20L);
+        assertThat(recommended.get(0).getSharedMembers()).isEqualTo(2_500);
+    }
+
+    private void join(Long userId, Long... clubIds) {
+        for (Long clubId : clubIds) {
+            index.add(userId, clubId);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.tribenet.tribenet.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.tribenet.tribenet.model.Payment;
+import org.tribenet.tribenet.model.Role;
+import org.tribenet.tribenet.model.User;
+import org.tribenet.tribenet.repository.ClubRepo;
+import org.tribenet.tribenet.repository.PaymentRepository;
+import org.tribenet.tribenet.repository.UserClubRepo;
+import org.tribenet.tribenet.repository.UserRepo;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.tribenet.tribenet.TestFixtures.newClub;
+import static org.tribenet.tribenet.TestFixtures.user;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DeletionPurgerTest {
+
+    @Autowired
+    private ClubService clubService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private ClubRepo clubRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private UserClubRepo userClubRepo;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private DeletionPurger purger;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        purger = new DeletionPurger(clubRepo, userRepo, userClubRepo, paymentRepository, transactionManager,
+                meterRegistry, 2, 0);
+        admin = userRepo.findByUsername("purgeadmin");
+        if (admin == null) {
+            admin = userRepo.save(user("purgeadmin", Role.ADMIN));
+        }
+    }
+
+    @Test
+    void deletedClubLosesItsMembershipsInChunksAndThenItsRow() {
+        User creator = userRepo.save(user("purgeclubcreator", Role.USER));
+        Long clubId = clubService.createClub(newClub("Purged club"), creator).getId();
+        for (int i = 0; i < 4; i++) {
+            clubService.joinClub(clubId, userRepo.save(user("purgeclubmember" + i, Role.USER)));
+        }
+
+        clubService.deleteClub(clubId, admin);
+        assertThat(count("SELECT COUNT(*) FROM user_club WHERE club_id = ?", clubId)).isEqualTo(5);
+
+        purger.purge();
+
+        assertThat(count("SELECT COUNT(*) FROM user_club WHERE club_id = ?", clubId)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM clubs WHERE id = ?", clubId)).isZero();
+    }
+
+    @Test
+    void deletedUserWithoutReferencesIsRemoved() {
+        User user = userRepo.save(user("purgeplain", Role.USER));
+        User creator = userRepo.save(user("purgeplaincreator", Role.USER));
+        clubService.joinClub(clubService.createClub(newClub("Plain"), creator).getId(), user);
+
+        adminService.deleteUser(user.getId(), admin);
+        purger.purge();
+
+        assertThat(count("SELECT COUNT(*) FROM users WHERE id = ?", user.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM user_club WHERE user_id = ?", user.getId())).isZero();
+    }
+
+    @Test
+    void tombstonedUserFreesUsernameAndEmail() {
+        User user = userRepo.save(user("purgepayer", Role.USER));
+        Payment payment = new Payment();
+        payment.setOrderId("order_purgepayer");
+        payment.setAmount(BigDecimal.TEN);
+        payment.setCurrency("INR");
+        payment.setUserId(user.getId());
+        paymentRepository.save(payment);
+
+        adminService.deleteUser(user.getId(), admin);
+        purger.purge();
+
+        Map<String, Object> tombstone = jdbc.queryForMap(
+                "SELECT username, email, purged_at FROM users WHERE id = ?", user.getId());
+        assertThat(tombstone.get("PURGED_AT")).isNotNull();
+        assertThat((String) tombstone.get("USERNAME")).startsWith("deleted-");
+        assertThat((String) tombstone.get("EMAIL")).endsWith("@deleted.invalid");
+        assertThat(paymentRepository.findByUserId(user.getId())).hasSize(1);
+
+        User again = userRepo.save(user("purgepayer", Role.USER));
+        assertThat(again.getId()).isNotEqualTo(user.getId());
+    }
+
+    @Test
+    void scheduledPurgeRunsOnItsOwnThread() throws Exception {
+        CompletableFuture<String> thread = new CompletableFuture<>();
+        ClubRepo clubs = mock(ClubRepo.class);
+        when(clubs.findDeletedIds(20)).thenAnswer(invocation -> {
+            thread.complete(Thread.currentThread().getName());
+            return List.of();
+        });
+        DeletionPurger scheduled = new DeletionPurger(clubs, mock(UserRepo.class), mock(UserClubRepo.class),
+                mock(PaymentRepository.class), mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 2, 0);
+
+        scheduled.schedulePurge();
+
+        assertThat(thread.get(5, TimeUnit.SECONDS)).isEqualTo("deletion-purger");
+        scheduled.shutdown();
+    }
+
+    private long count(String sql, Long id) {
+        return jdbc.queryForObject(sql, Long.class, id);
+    }
+}
@@ -0,0 +1,96 @@
+package org.tribenet.tribenet.service;
+
+import org.junit.jupiter.api.Test;
+import org.tribenet.tribenet.event.ClubDeletedEvent;
+import org.tribenet.tribenet.event.MembershipEvent;
+import org.tribenet.tribenet.event.MembershipEventType;
+import org.tribenet.tribenet.event.UserDeletedEvent;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MembershipIndexTest {
+
+    private final MembershipIndex index = new MembershipIndex(null, null);
+
+    @Test
+    void keepsBothDirectionsInStep() {
+        index.add(1L, 10L);
+        index.add(2L, 10L);
+        index.add(1L, 20L);
+
+        assertThat(members(10)).containsExactly(1, 2);
+        assertThat(clubs(1)).containsExactly(10, 20);
+
+        index.remove(1L, 10L);
+
+        assertThat(members(10)).containsExactly(2);
+        assertThat(clubs(1)).containsExactly(20);
+    }
+
+    @Test
+    void memberCountsFollowAddsAndRemoves() {
+        index.add(1L, 10L);
+        index.add(1L, 10L);
+        index.add(2L, 10L);
+        index.remove(3L, 10L);
+        assertThat(memberCount(10)).isEqualTo(2);
+
+        index.remove(1L, 10L);
+        assertThat(memberCount(10)).isEqualTo(1);
+        assertThat(memberCount(99)).isZero();
+    }
+
+    @Test
+    void emptyEntriesAreDropped() {
+        index.add(1L, 10L);
+        index.remove(1L, 10L);
+
+        assertThat(index.read(MembershipIndex.View::allClubs)).isEmpty();
+        assertThat(clubs(1)).isEmpty();
+    }
+
+    @Test
+    void appliesMembershipEvents() {
+        index.onMembershipChanged(event(MembershipEventType.JOINED, 1L, 10L));
+        index.onMembershipChanged(event(MembershipEventType.JOINED, 2L, 10L));
+        index.onMembershipChanged(event(MembershipEventType.PROMOTED, 2L, 10L));
+        index.onMembershipChanged(event(MembershipEventType.REMOVED, 1L, 10L));
+
+        assertThat(members(10)).containsExactly(2);
+    }
+
+    @Test
+    void deletedClubsAndUsersLeaveNoMemberships() {
+        index.add(1L, 10L);
+        index.add(2L, 10L);
+        index.add(2L, 20L);
+
+        index.onClubDeleted(new ClubDeletedEvent(10L));
+        assertThat(clubs(1)).isEmpty();
+        assertThat(clubs(2)).containsExactly(20);
+
+        assertThat(memberCount(10)).isZero();
+
+        index.onUserDeleted(new UserDeletedEvent(2L, "user2", List.of(20L)));
+        assertThat(members(20)).isEmpty();
+        assertThat(memberCount(20)).isZero();
+    }
+
+    private int[] members(int clubId) {
+        return index.read(view -> view.membersOf(clubId).toArray());
+    }
+
+    private int memberCount(int clubId) {
+        return index.read(view -> view.memberCount(clubId));
+    }
+
+    private int[] clubs(int userId) {
+        return index.read(view -> view.clubsOf(userId).toArray());
+    }
+
+    private static MembershipEvent event(MembershipEventType type, Long userId, Long clubId) {
+        return new MembershipEvent(clubId, userId, type);
+    }
+}
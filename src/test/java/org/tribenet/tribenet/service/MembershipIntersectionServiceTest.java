@@ -0,0 +1,90 @@
+package org.tribenet.tribenet.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.tribenet.tribenet.dto.IntersectionResponseDTO;
+import org.tribenet.tribenet.exception.ResourceNotFoundException;
+import org.tribenet.tribenet.repository.ClubRepo;
+import org.tribenet.tribenet.repository.UserRepo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MembershipIntersectionServiceTest {
+
+    private MembershipIndex index;
+    private ClubRepo clubRepo;
+    private MembershipIntersectionService service;
+
+    @BeforeEach
+    void setUp() {
+        index = new MembershipIndex(null, null);
+        UserRepo userRepo = mock(UserRepo.class);
+        clubRepo = mock(ClubRepo.class);
+        when(userRepo.existsById(any())).thenReturn(true);
+        when(clubRepo.existsById(any())).thenReturn(true);
+        service = new MembershipIntersectionService(index, userRepo, clubRepo);
+    }
+
+    @Test
+    void mutualClubsAreCountedAndListedInIdOrder() {
+        for (long club : new long[]{4, 1, 9, 3}) {
+            index.add(1L, club);
+        }
+        for (long club : new long[]{9, 4, 1, 7}) {
+            index.add(2L, club);
+        }
+
+        IntersectionResponseDTO mutual = service.getMutualClubs(1L, 2L, null, 100);
+
+        assertThat(mutual.getCount()).isEqualTo(3);
+        assertThat(mutual.getIds()).containsExactly(1L, 4L, 9L);
+        assertThat(mutual.getNextAfter()).isNull();
+    }
+
+    @Test
+    void sharedMembersArePagedByKeyset() {
+        for (long user = 1; user <= 10; user++) {
+            index.add(user, 1L);
+            if (user % 2 == 0) {
+                index.add(user, 2L);
+            }
+        }
+
+        IntersectionResponseDTO first = service.getSharedMembers(1L, 2L, null, 2);
+        assertThat(first.getCount()).isEqualTo(5);
+        assertThat(first.getIds()).containsExactly(2L, 4L);
+        assertThat(first.getNextAfter()).isEqualTo(4L);
+
+        IntersectionResponseDTO second = service.getSharedMembers(1L, 2L, first.getNextAfter(), 2);
+        assertThat(second.getIds()).containsExactly(6L, 8L);
+
+        IntersectionResponseDTO last = service.getSharedMembers(1L, 2L, second.getNextAfter(), 2);
+        assertThat(last.getIds()).containsExactly(10L);
+        assertThat(last.getNextAfter()).isNull();
+        assertThat(last.getCount()).isEqualTo(5);
+    }
+
+    @Test
+    void disjointSetsAndCursorsPastTheEndAreEmpty() {
+        index.add(1L, 1L);
+        index.add(2L, 2L);
+        assertThat(service.getSharedMembers(1L, 2L, null, 10).getIds()).isEmpty();
+
+        index.add(1L, 2L);
+        IntersectionResponseDTO pastEnd = service.getSharedMembers(1L, 2L, Long.MAX_VALUE, 10);
+        assertThat(pastEnd.getCount()).isEqualTo(1);
+        assertThat(pastEnd.getIds()).isEmpty();
+    }
+
+    @Test
+    void unknownClubIsNotFound() {
+        when(clubRepo.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.getSharedMembers(1L, 99L, null, 10))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,171 @@
+package org.tribenet.tribenet.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.tribenet.tribenet.event.OutboxHandler;
+import org.tribenet.tribenet.model.OutboxEvent;
+import org.tribenet.tribenet.model.OutboxOffset;
+import org.tribenet.tribenet.repository.OutboxEventRepo;
+import org.tribenet.tribenet.repository.OutboxOffsetRepo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OutboxDispatcherTest {
+
+    private final TreeMap<Long, OutboxEvent> events = new TreeMap<>();
+    private final OutboxOffset offset = new OutboxOffset("recorder", 0L, null, new HashMap<>());
+    private final RecordingHandler handler = new RecordingHandler();
+    private OutboxDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void deliversInIdOrderAndAdvancesTheOffset() {
+        start(1);
+        insert(1, 0);
+        insert(2, 0);
+        insert(3, 0);
+
+        assertThat(dispatcher.dispatchBatch(handler)).isEqualTo(3);
+        assertThat(handler.delivered).containsExactly(1L, 2L, 3L);
+        assertThat(offset.getLastEventId()).isEqualTo(3);
+    }
+
+    @Test
+    void waitsAtAGapWhileItMayStillCommit() {
+        start(1);
+        insert(1, 0);
+        insert(3, 0);
+
+        assertThat(dispatcher.dispatchBatch(handler)).isEqualTo(1);
+        assertThat(offset.getLastEventId()).isEqualTo(1);
+        assertThat(offset.getSkippedIds()).isEmpty();
+    }
+
+    @Test
+    void skippedIdIsDeliveredWhenItAppearsLate() {
+        start(1);
+        insert(1, 60);
+        insert(4, 60);
+
+        dispatcher.dispatchBatch(handler);
+        assertThat(handler.delivered).containsExactly(1L, 4L);
+        assertThat(offset.getSkippedIds()).containsOnlyKeys(2L, 3L);
+
+        insert(3, 0);
+        dispatcher.dispatchBatch(handler);
+        assertThat(handler.delivered).containsExactly(1L, 4L, 3L);
+        assertThat(offset.getSkippedIds()).containsOnlyKeys(2L);
+        assertThat(offset.getLastEventId()).isEqualTo(4);
+    }
+
+    @Test
+    void skippedIdIsForgottenAfterTheExpiry() {
+        start(1);
+        offset.setLastEventId(4L);
+        offset.getSkippedIds().put(2L, LocalDateTime.now().minusMinutes(11));
+        offset.getSkippedIds().put(3L, LocalDateTime.now().minusMinutes(1));
+
+        dispatcher.dispatchBatch(handler);
+
+        assertThat(offset.getSkippedIds()).containsOnlyKeys(3L);
+    }
+
+    @Test
+    void failedLateEventIsRetriedEvenPastTheExpiry() {
+        start(1);
+        offset.setLastEventId(4L);
+        offset.getSkippedIds().put(2L, LocalDateTime.now().minusMinutes(11));
+        insert(2, 0);
+        handler.failing.add(2L);
+
+        dispatcher.dispatchBatch(handler);
+        assertThat(offset.getSkippedIds()).containsOnlyKeys(2L);
+
+        handler.failing.clear();
+        dispatcher.dispatchBatch(handler);
+        assertThat(handler.delivered).containsExactly(2L);
+        assertThat(offset.getSkippedIds()).isEmpty();
+    }
+
+    @Test
+    void idsSteppingByTheConfiguredIncrementAreNotGaps() {
+        start(2);
+        insert(1, 0);
+        insert(3, 0);
+        insert(5, 0);
+
+        assertThat(dispatcher.dispatchBatch(handler)).isEqualTo(3);
+        assertThat(offset.getSkippedIds()).isEmpty();
+    }
+
+    private void start(long idIncrement) {
+        OutboxEventRepo eventRepo = mock(OutboxEventRepo.class);
+        when(eventRepo.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            Long after = invocation.getArgument(0);
+            Limit limit = invocation.getArgument(1);
+            return events.tailMap(after, false).values().stream().limit(limit.max()).toList();
+        });
+        when(eventRepo.findAllById(any())).thenAnswer(invocation -> {
+            List<OutboxEvent> found = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                if (events.containsKey(id)) {
+                    found.add(events.get(id));
+                }
+            }
+            return found;
+        });
+        OutboxOffsetRepo offsetRepo = mock(OutboxOffsetRepo.class);
+        when(offsetRepo.claim(anyString())).thenReturn(Optional.of(offset));
+        dispatcher = new OutboxDispatcher(List.of(handler), eventRepo, offsetRepo,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                1, 100, 5_000, 600_000, idIncrement, 24);
+    }
+
+    private void insert(long id, long ageSeconds) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setEventType("test.event");
+        event.setCreatedAt(LocalDateTime.now().minusSeconds(ageSeconds));
+        events.put(id, event);
+    }
+
+    private static class RecordingHandler implements OutboxHandler {
+
+        private final List<Long> delivered = new ArrayList<>();
+        private final Set<Long> failing = new HashSet<>();
+
+        @Override
+        public String name() {
+            return "recorder";
+        }
+
+        @Override
+        public void handle(OutboxEvent event) {
+            if (failing.contains(event.getId())) {
+                throw new IllegalStateException("failing " + event.getId());
+            }
+            delivered.add(event.getId());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.tribenet.tribenet.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.tribenet.tribenet.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(meterRegistry, 5_000);
+        callers = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "club";
+        };
+
+        List<Future<String>> results = new ArrayList<>();
+        results.add(callers.submit(() -> singleFlight.execute("club", 1L, loader)));
+        awaitCalls("leader", 1);
+        for (int i = 0; i < 4; i++) {
+            results.add(callers.submit(() -> singleFlight.execute("club", 1L, loader)));
+        }
+        awaitCalls("coalesced", 4);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("club");
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void followersGetTheLeadersException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> loader = () -> {
+            await(release);
+            throw new IllegalStateException("load failed");
+        };
+
+        Future<String> leader = callers.submit(() -> singleFlight.execute("club", 1L, loader));
+        awaitCalls("leader", 1);
+        Future<String> follower = callers.submit(() -> singleFlight.execute("club", 1L, () -> "never"));
+        awaitCalls("coalesced", 1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .cause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("load failed");
+    }
+
+    @Test
+    void followerGivesUpAtTheTimeoutAndTheNextCallerStartsAFreshLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Duration timeout = Duration.ofMillis(200);
+        Future<String> leader = callers.submit(() -> singleFlight.execute("club", 1L, timeout, () -> {
+            await(release);
+            return "slow";
+        }));
+        awaitCalls("leader", 1);
+
+        assertThatThrownBy(() -> singleFlight.execute("club", 1L, timeout, () -> "never"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(meterRegistry.counter("tribenet.singleflight.timeouts", "name", "club").count()).isEqualTo(1);
+
+        assertThat(singleFlight.execute("club", 1L, timeout, () -> "fresh")).isEqualTo("fresh");
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+    }
+
+    @Test
+    void differentKeysAndLaterCallsLoadSeparately() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("club", 1L, loads::incrementAndGet);
+        singleFlight.execute("club", 2L, loads::incrementAndGet);
+        singleFlight.execute("members", 1L, loads::incrementAndGet);
+        singleFlight.execute("club", 1L, loads::incrementAndGet);
+
+        assertThat(loads).hasValue(4);
+    }
+
+    private void awaitCalls(String result, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("tribenet.singleflight.calls", "name", "club", "result", result).count() < count
+                && System.nanoTime() - deadline < 0) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
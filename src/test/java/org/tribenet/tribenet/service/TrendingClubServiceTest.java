@@ -0,0 +1,133 @@
+package org.tribenet.tribenet.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.tribenet.tribenet.TestFixtures;
+import org.tribenet.tribenet.dto.TrendingClubDTO;
+import org.tribenet.tribenet.event.ClubDeletedEvent;
+import org.tribenet.tribenet.event.MembershipEvent;
+import org.tribenet.tribenet.event.MembershipEventType;
+import org.tribenet.tribenet.exception.BadRequestException;
+import org.tribenet.tribenet.model.ClubActivityBucket;
+import org.tribenet.tribenet.repository.ClubActivityBucketRepo;
+import org.tribenet.tribenet.repository.ClubRepo;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TrendingClubServiceTest {
+
+    private ClubActivityBucketRepo bucketRepo;
+    private TrendingClubService service;
+
+    @BeforeEach
+    void setUp() {
+        bucketRepo = mock(ClubActivityBucketRepo.class);
+        ClubRepo clubRepo = mock(ClubRepo.class);
+        when(clubRepo.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            return StreamSupport.stream(ids.spliterator(), false).map(TestFixtures::club).toList();
+        });
+        service = new TrendingClubService(bucketRepo, clubRepo, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void ranksClubsByNetGrowthInEveryWindow() {
+        record(1L, MembershipEventType.JOINED, 3);
+        record(1L, MembershipEventType.LEFT, 2);
+        record(2L, MembershipEventType.JOINED, 2);
+        record(2L, MembershipEventType.PROMOTED, 5);
+        service.recompute();
+
+        for (String window : List.of("1h", "24h", "7d")) {
+            List<TrendingClubDTO> trending = service.getTrendingClubs(window, 10);
+            assertThat(trending).extracting(TrendingClubDTO::getId).containsExactly(2L, 1L);
+            assertThat(trending.get(1).getJoins()).isEqualTo(3);
+            assertThat(trending.get(1).getLeaves()).isEqualTo(2);
+            assertThat(trending.get(1).getNetGrowth()).isEqualTo(1);
+        }
+        assertThat(service.getTrendingClubs("1h", 1)).extracting(TrendingClubDTO::getId).containsExactly(2L);
+    }
+
+    @Test
+    void rankingOnlyChangesOnRecompute() {
+        service.recompute();
+        record(1L, MembershipEventType.JOINED, 1);
+
+        assertThat(service.getTrendingClubs("1h", 10)).isEmpty();
+        service.recompute();
+        assertThat(service.getTrendingClubs("1h", 10)).hasSize(1);
+    }
+
+    @Test
+    void deletedClubsDropOut() {
+        record(1L, MembershipEventType.JOINED, 1);
+        service.recompute();
+
+        service.onClubDeleted(new ClubDeletedEvent(1L));
+        service.recompute();
+
+        assertThat(service.getTrendingClubs("7d", 10)).isEmpty();
+    }
+
+    @Test
+    void restoredHourBucketsCountForDayAndWeekOnly() {
+        long twoHoursAgo = System.currentTimeMillis() / 3_600_000 - 2;
+        when(bucketRepo.findByBucketHourGreaterThan(anyLong())).thenReturn(List.of(bucket(7L, twoHoursAgo, 4, 1)));
+
+        service.restore();
+
+        assertThat(service.getTrendingClubs("1h", 10)).isEmpty();
+        assertThat(service.getTrendingClubs("24h", 10)).extracting(TrendingClubDTO::getNetGrowth).containsExactly(3L);
+        assertThat(service.getTrendingClubs("7d", 10)).extracting(TrendingClubDTO::getNetGrowth).containsExactly(3L);
+    }
+
+    @Test
+    void checkpointWritesOnlyNewIncrements() {
+        long hour = System.currentTimeMillis() / 3_600_000;
+        record(1L, MembershipEventType.JOINED, 2);
+
+        service.checkpoint();
+        verify(bucketRepo).addToBucket(eq(1L), eq(hour), eq(2L), eq(0L));
+
+        clearInvocations(bucketRepo);
+        service.checkpoint();
+        verify(bucketRepo, never()).addToBucket(any(), any(), anyLong(), anyLong());
+
+        record(1L, MembershipEventType.LEFT, 1);
+        service.checkpoint();
+        verify(bucketRepo).addToBucket(eq(1L), eq(hour), eq(0L), eq(1L));
+    }
+
+    @Test
+    void unknownWindowIsRejected() {
+        assertThatThrownBy(() -> service.getTrendingClubs("1y", 10)).isInstanceOf(BadRequestException.class);
+    }
+
+    private void record(Long clubId, MembershipEventType type, int times) {
+        for (int i = 0; i < times; i++) {
+            service.onMembershipChanged(new MembershipEvent(clubId, 100L + i, type));
+        }
+    }
+
+    private static ClubActivityBucket bucket(Long clubId, long hour, long joins, long leaves) {
+        ClubActivityBucket bucket = new ClubActivityBucket();
+        bucket.setClubId(clubId);
+        bucket.setBucketHour(hour);
+        bucket.setJoins(joins);
+        bucket.setLeaves(leaves);
+        return bucket;
+    }
+}
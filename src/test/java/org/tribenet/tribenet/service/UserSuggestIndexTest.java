@@ -0,0 +1,120 @@
+package org.tribenet.tribenet.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.tribenet.tribenet.dto.UserSuggestionDTO;
+import org.tribenet.tribenet.event.UserDeletedEvent;
+import org.tribenet.tribenet.event.UserRegisteredEvent;
+import org.tribenet.tribenet.exception.BadRequestException;
+import org.tribenet.tribenet.repository.UserNameFields;
+import org.tribenet.tribenet.repository.UserRepo;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserSuggestIndexTest {
+
+    private UserRepo userRepo;
+    private UserSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        userRepo = mock(UserRepo.class);
+        index = new UserSuggestIndex(userRepo, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void matchesUsernamesNamesAndLaterWordsCaseInsensitively() {
+        load(row(1L, "alice", "Alice Smith"), row(2L, "bob", "Bob Alder"), row(3L, "carol", "Carol Jones"));
+
+        assertThat(ids("AL")).containsExactly(2L, 1L);
+        assertThat(ids("smi")).containsExactly(1L);
+        assertThat(ids("carol j")).containsExactly(3L);
+        assertThat(ids("zed")).isEmpty();
+    }
+
+    @Test
+    void userMatchedByTwoKeysIsListedOnce() {
+        load(row(1L, "anna", "Anna Andrews"));
+
+        assertThat(index.suggest("an", 10)).extracting(UserSuggestionDTO::getUsername).containsExactly("anna");
+    }
+
+    @Test
+    void registeredUsersMergeInKeyOrder() {
+        load(row(1L, "mark", "Mark One"), row(3L, "mary", "Mary Three"));
+        index.onUserRegistered(new UserRegisteredEvent(2L, "marie", "Marie Two"));
+
+        assertThat(ids("mar")).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void deletedUsersAreHiddenFromBaseAndDelta() {
+        load(row(1L, "mark", "Mark One"));
+        index.onUserRegistered(new UserRegisteredEvent(2L, "marie", "Marie Two"));
+
+        index.onUserDeleted(new UserDeletedEvent(1L, "mark", List.of()));
+        index.onUserDeleted(new UserDeletedEvent(2L, "marie", List.of()));
+
+        assertThat(ids("mar")).isEmpty();
+    }
+
+    @Test
+    void compactionKeepsResults() {
+        load(row(1L, "zoe", "Zoe Base"));
+        index.onUserDeleted(new UserDeletedEvent(1L, "zoe", List.of()));
+        for (long id = 2; id <= 5_000; id++) {
+            index.onUserRegistered(new UserRegisteredEvent(id, "user" + id, null));
+        }
+
+        assertThat(ids("zoe")).isEmpty();
+        assertThat(ids("user4999")).containsExactly(4_999L);
+        assertThat(index.suggest("user", 50)).hasSize(50);
+    }
+
+    @Test
+    void limitAndEmptyPrefix() {
+        load(row(1L, "sam1", null), row(2L, "sam2", null), row(3L, "sam3", null));
+
+        assertThat(ids("sam", 2)).containsExactly(1L, 2L);
+        assertThatThrownBy(() -> index.suggest("  ", 10)).isInstanceOf(BadRequestException.class);
+    }
+
+    private void load(UserNameFields... rows) {
+        when(userRepo.streamAllNameFields()).thenReturn(Stream.of(rows));
+        index.rebuild();
+    }
+
+    private List<Long> ids(String prefix) {
+        return ids(prefix, 10);
+    }
+
+    private List<Long> ids(String prefix, int limit) {
+        return index.suggest(prefix, limit).stream().map(UserSuggestionDTO::getId).toList();
+    }
+
+    private static UserNameFields row(Long id, String username, String name) {
+        return new UserNameFields() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+}
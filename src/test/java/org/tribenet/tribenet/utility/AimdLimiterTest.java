@@ -0,0 +1,112 @@
+package org.tribenet.tribenet.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AimdLimiterTest {
+
+    private static final long NORMAL = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long FLOOR = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long NEVER_SLOW = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void standardLaneLeavesTheReserveToPriorityCallers() {
+        AimdLimiter limiter = new AimdLimiter(10, 1, 10, 0.5, 2.0, 0, 0.2);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(limiter.tryAcquire(false)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(false)).isFalse();
+        assertThat(limiter.tryAcquire(true)).isTrue();
+        assertThat(limiter.tryAcquire(true)).isTrue();
+        assertThat(limiter.tryAcquire(true)).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+    }
+
+    @Test
+    void limitGrowsWhileBusyUpToTheMaximum() {
+        AimdLimiter limiter = new AimdLimiter(10, 1, 12, 0.5, 2.0, NEVER_SLOW, 0);
+
+        for (int round = 0; round < 10; round++) {
+            fill(limiter, 10);
+            for (int i = 0; i < 10; i++) {
+                limiter.release(System.nanoTime() - NORMAL);
+            }
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(12);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void limitDoesNotGrowWhileMostlyIdle() {
+        AimdLimiter limiter = new AimdLimiter(10, 1, 100, 0.5, 2.0, NEVER_SLOW, 0);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(false);
+            limiter.release(System.nanoTime() - NORMAL);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void slowBurstBacksOffOnceAndALaterOneAgain() throws InterruptedException {
+        AimdLimiter limiter = new AimdLimiter(100, 4, 100, 0.5, 2.0, FLOOR, 0);
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(SLOW) * 2);
+        completeNormally(limiter, 50);
+
+        long burstStart = System.nanoTime() - SLOW;
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(false);
+            limiter.release(burstStart);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(50);
+
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(SLOW) * 2);
+        limiter.tryAcquire(false);
+        limiter.release(System.nanoTime() - SLOW);
+        assertThat(limiter.getLimit()).isEqualTo(25);
+    }
+
+    @Test
+    void limitNeverDropsBelowTheMinimum() throws InterruptedException {
+        AimdLimiter limiter = new AimdLimiter(8, 4, 100, 0.1, 2.0, FLOOR, 0);
+        completeNormally(limiter, 20);
+
+        for (int i = 0; i < 3; i++) {
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(SLOW) * 2);
+            limiter.tryAcquire(false);
+            limiter.release(System.nanoTime() - SLOW);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void invalidBoundsAreRejected() {
+        assertThatThrownBy(() -> new AimdLimiter(10, 0, 10, 0.5, 2.0, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AimdLimiter(10, 5, 4, 0.5, 2.0, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(new AimdLimiter(1000, 1, 20, 0.5, 2.0, 0, 0).getLimit()).isEqualTo(20);
+    }
+
+    private static void fill(AimdLimiter limiter, int requests) {
+        for (int i = 0; i < requests; i++) {
+            assertThat(limiter.tryAcquire(true)).isTrue();
+        }
+    }
+
+    private static void completeNormally(AimdLimiter limiter, int requests) {
+        for (int i = 0; i < requests; i++) {
+            limiter.tryAcquire(false);
+            limiter.release(System.nanoTime() - NORMAL);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.tribenet.tribenet.utility;
+
+import org.junit.jupiter.api.Test;
+import org.tribenet.tribenet.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchIdsTest {
+
+    @Test
+    void distinctKeepsFirstOccurrenceOrderAndDropsNulls() {
+        assertThat(BatchIds.distinct(Arrays.asList(3L, 1L, null, 3L, 2L, 1L))).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void emptyRequestsAreRejected() {
+        assertThatThrownBy(() -> BatchIds.distinct(null)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> BatchIds.distinct(List.of())).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> BatchIds.distinct(Arrays.asList(null, null)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("ids must not be empty");
+    }
+
+    @Test
+    void limitAppliesToDistinctIds() {
+        List<Long> hundred = LongStream.rangeClosed(1, BatchIds.MAX_IDS).boxed().toList();
+        List<Long> withDuplicates = new ArrayList<>(hundred);
+        withDuplicates.addAll(hundred);
+        assertThat(BatchIds.distinct(withDuplicates)).hasSize(BatchIds.MAX_IDS);
+
+        List<Long> tooMany = LongStream.rangeClosed(1, BatchIds.MAX_IDS + 1).boxed().toList();
+        assertThatThrownBy(() -> BatchIds.distinct(tooMany))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("At most 100 ids can be requested at once");
+    }
+
+    @Test
+    void inOrderFollowsTheRequestAndReportsMissingIds() {
+        Set<Long> ids = BatchIds.distinct(List.of(5L, 9L, 1L, 7L));
+        Map<Long, String> found = Map.of(1L, "one", 5L, "five", 7L, "seven");
+        List<Long> missing = new ArrayList<>();
+
+        List<String> items = BatchIds.inOrder(ids, found, String::toUpperCase, missing);
+
+        assertThat(items).containsExactly("FIVE", "ONE", "SEVEN");
+        assertThat(missing).containsExactly(9L);
+    }
+}
@@ -0,0 +1,135 @@
+package org.tribenet.tribenet.utility;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.tribenet.tribenet.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SubtasksTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void joinReturnsOnceEverySubtaskIsDone() {
+        try (Subtasks scope = new Subtasks()) {
+            Subtasks.Subtask<String> a = scope.fork(() -> "a");
+            Subtasks.Subtask<Integer> b = scope.fork(() -> 2);
+            scope.join(Duration.ofSeconds(5));
+
+            assertThat(a.get()).isEqualTo("a");
+            assertThat(b.get()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void deadlineFailsTheJoinAndInterruptsTheSlowSubtask() throws Exception {
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        long started = System.nanoTime();
+        try (Subtasks scope = new Subtasks()) {
+            scope.fork(() -> sleepUntilInterrupted(interrupted));
+            assertThatThrownBy(() -> scope.join(Duration.ofMillis(100)))
+                    .isInstanceOf(ServiceUnavailableException.class);
+        }
+
+        assertThat(interrupted.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void firstFailureIsRethrownAndCancelsTheOthers() throws Exception {
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        CountDownLatch sleeping = new CountDownLatch(1);
+        try (Subtasks scope = new Subtasks()) {
+            scope.fork(() -> {
+                sleeping.countDown();
+                return sleepUntilInterrupted(interrupted);
+            });
+            scope.fork(() -> {
+                sleeping.await();
+                throw new IllegalArgumentException("boom");
+            });
+            assertThatThrownBy(() -> scope.join(Duration.ofSeconds(30)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("boom");
+        }
+
+        assertThat(interrupted.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void subtasksRunWithTheCallersSecurityContext() {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("alice", null, AuthorityUtils.NO_AUTHORITIES));
+        try (Subtasks scope = new Subtasks()) {
+            Subtasks.Subtask<String> name = scope.fork(
+                    () -> SecurityContextHolder.getContext().getAuthentication().getName());
+            scope.join(Duration.ofSeconds(5));
+
+            assertThat(name.get()).isEqualTo("alice");
+        }
+    }
+
+    /**
+     * A JDBC statement does not notice the interrupt that cancels its subtask;
+     * the transaction timeout set by {@link Subtasks#readOnly} is what stops it,
+     * so closing the scope still returns shortly after the deadline.
+     */
+    @Test
+    void readOnlyStatementIsCutOffAtTheDeadline() throws Exception {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:subtasks;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        long started = System.nanoTime();
+        long deadline = started + Duration.ofSeconds(1).toNanos();
+        try (Subtasks scope = new Subtasks()) {
+            Callable<Long> slowQuery = Subtasks.readOnly(transactionManager, deadline, () -> jdbc.queryForObject(
+                    "SELECT SUM(a.X * b.X) FROM SYSTEM_RANGE(1, 1000000) a, SYSTEM_RANGE(1, 1000000) b",
+                    Long.class));
+            scope.fork(() -> {
+                try {
+                    return slowQuery.call();
+                } catch (Exception e) {
+                    failure.complete(e);
+                    throw e;
+                }
+            });
+            assertThatThrownBy(() -> scope.join(Duration.ofNanos(deadline - System.nanoTime())))
+                    .isInstanceOf(ServiceUnavailableException.class);
+        } finally {
+            jdbc.execute("DROP ALL OBJECTS");
+        }
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+        assertThat(failure.get(1, TimeUnit.SECONDS)).isInstanceOf(QueryTimeoutException.class);
+    }
+
+    private static Boolean sleepUntilInterrupted(CompletableFuture<Boolean> interrupted) {
+        try {
+            Thread.sleep(Duration.ofMinutes(1));
+            interrupted.complete(false);
+        } catch (InterruptedException e) {
+            interrupted.complete(true);
+        }
+        return false;
+    }
+}